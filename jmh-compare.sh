@@ -0,0 +1,31 @@
+#!/bin/bash
+
+# Compare two JMH JSON result files (e.g. from the previous and current release)
+# Usage: ./jmh-compare.sh baseline.json current.json [threshold_percent]
+# Exits with status 1 if any benchmark regressed by more than the threshold (default 10%)
+
+BASELINE=$1
+CURRENT=$2
+THRESHOLD=${3:-10}
+
+if [ -z "$BASELINE" ] || [ -z "$CURRENT" ]; then
+  echo "Usage: $0 baseline.json current.json [threshold_percent]"
+  exit 2
+fi
+
+# One line per benchmark: "<name>{params} <mode> <score> <unit>"
+flatten() {
+  jq -r '.[] | "\(.benchmark)\(if .params then (.params | tostring) else "" end) \(.mode) \(.primaryMetric.score) \(.primaryMetric.scoreUnit)"' "$1" | sort
+}
+
+join <(flatten "$BASELINE") <(flatten "$CURRENT") | awk -v threshold="$THRESHOLD" '
+{
+  name = $1; mode = $2; before = $3; unit = $4; after = $6
+  if (before == 0) next
+  # Throughput: higher is better; everything else (avgt, sample, ss): lower is better
+  change = (mode == "thrpt") ? (before - after) / before * 100 : (after - before) / before * 100
+  status = (change > threshold) ? "REGRESSION" : "ok"
+  if (status == "REGRESSION") failed = 1
+  printf "%-10s %-90s %14.3f -> %14.3f %s (%+.1f%%)\n", status, name, before, after, unit, -change
+}
+END { exit failed }'
@@ -0,0 +1,31 @@
+#!/bin/bash
+
+# Logging overhead benchmark: runs the load test (see README "Load Testing") twice,
+# once with the default logging configuration and once with the prod profile,
+# and prints the per-endpoint results side by side.
+# Extra arguments are passed to Maven, e.g. ./loadtest-logging.sh -Dloadtest.users=200
+
+mkdir -p target/loadtest
+
+run() {
+  local name=$1
+  local profiles=$2
+  shift 2
+  echo "▶ Running load test with profiles: $profiles"
+  ./mvnw -q -Ploadtest test-compile exec:java -Dloadtest.profiles="$profiles" "$@" \
+    > "target/loadtest/logging-$name.log" 2>&1
+  # Keep only the results table (header through TOTAL)
+  sed -n '/^endpoint /,/^TOTAL /p' "target/loadtest/logging-$name.log" > "target/loadtest/logging-$name.txt"
+}
+
+run default h2 "$@"
+run prod h2,prod "$@"
+
+echo ""
+echo "=== Default logging (DEBUG, show-sql, synchronous console) ==="
+cat target/loadtest/logging-default.txt
+echo ""
+echo "=== prod profile (INFO, async console, sampled payloads) ==="
+cat target/loadtest/logging-prod.txt
+echo ""
+echo "Full output: target/loadtest/logging-default.log, target/loadtest/logging-prod.log"
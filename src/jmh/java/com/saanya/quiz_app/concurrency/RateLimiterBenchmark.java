@@ -0,0 +1,62 @@
+package com.saanya.quiz_app.concurrency;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the rate limiter under contention. {@code keys} is the number of
+ * distinct client IPs: 1 puts every thread on the same stripe and key, 100000 fills
+ * the limiter to its default key bound so LRU eviction is part of the cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    public int keys;
+
+    private SlidingWindowRateLimiter allowing;
+    private SlidingWindowRateLimiter rejecting;
+    private String[] ips;
+
+    @Setup
+    public void setUp() {
+        // High enough that nothing is rejected, so only bookkeeping is measured
+        allowing = new SlidingWindowRateLimiter(Integer.MAX_VALUE, TimeUnit.MINUTES.toNanos(1), 100_000, 64);
+        // Every key is over its limit after the first request
+        rejecting = new SlidingWindowRateLimiter(1, TimeUnit.MINUTES.toNanos(1), 100_000, 64);
+
+        ips = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            ips[i] = "10." + (i >> 16 & 255) + "." + (i >> 8 & 255) + "." + (i & 255);
+        }
+    }
+
+    @Benchmark
+    public long allowed() {
+        return allowing.tryAcquire(ips[ThreadLocalRandom.current().nextInt(keys)]);
+    }
+
+    @Benchmark
+    public long rejected() {
+        return rejecting.tryAcquire(ips[ThreadLocalRandom.current().nextInt(keys)]);
+    }
+}
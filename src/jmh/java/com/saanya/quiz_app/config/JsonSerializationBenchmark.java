@@ -0,0 +1,67 @@
+package com.saanya.quiz_app.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saanya.quiz_app.dto.LeaderboardEntry;
+import com.saanya.quiz_app.model.Question;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization with the application's {@link ObjectMapper} bean.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Question> questions;
+    private List<LeaderboardEntry> leaderboard;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new CorsConfig().objectMapper();
+
+        questions = new ArrayList<>(size);
+        leaderboard = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            questions.add(new Question(
+                    "Which planet has the shortest day in our solar system? #" + i,
+                    List.of("Earth", "Jupiter", "Mars", "Venus"),
+                    1,
+                    "Science"
+            ));
+            leaderboard.add(new LeaderboardEntry("player" + i, size - i));
+        }
+    }
+
+    @Benchmark
+    public byte[] questions() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(questions);
+    }
+
+    @Benchmark
+    public byte[] leaderboard() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(leaderboard);
+    }
+}
@@ -0,0 +1,103 @@
+package com.saanya.quiz_app.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saanya.quiz_app.dto.LeaderboardEntry;
+import com.saanya.quiz_app.dto.StreakHistory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization CPU of a user's streak history in each response encoding, with and
+ * without gzip. Payload sizes are printed once per trial, since JMH only reports time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    private static final String[] CATEGORIES = {
+            "Science", "History", "Sports", "Geography", "Mathematics", "Entertainment", "Literature", "Technology"
+    };
+
+    // Games per user: a casual player, a regular one and a heavy one
+    @Param({"20", "200", "2000"})
+    public int size;
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private List<StreakHistory> history;
+
+    @Setup
+    public void setUp() throws IOException {
+        CorsConfig config = new CorsConfig();
+        mapper = switch (format) {
+            case "smile" -> config.smileMapper();
+            case "cbor" -> config.cborMapper();
+            default -> config.objectMapper();
+        };
+
+        // Newest first, a few games a day, categories skewed towards favourites
+        Random random = new Random(42);
+        LocalDateTime playedAt = LocalDateTime.of(2025, 10, 19, 21, 30, 0).withNano(123_456_000);
+        history = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int category = Math.min(random.nextInt(4) + random.nextInt(5), CATEGORIES.length - 1);
+            history.add(new StreakHistory(random.nextInt(25), CATEGORIES[category], playedAt));
+            playedAt = playedAt.minusMinutes(30 + random.nextInt(600)).minusNanos(random.nextInt(1_000_000) * 1000L);
+        }
+
+        byte[] plain = mapper.writeValueAsBytes(history);
+        byte[] leaderboard = mapper.writeValueAsBytes(leaderboard());
+        System.out.printf("%n[%s, %d games] history %d bytes (%d gzipped), leaderboard of 10 %d bytes (%d gzipped)%n",
+                format, size, plain.length, gzip(plain).length, leaderboard.length, gzip(leaderboard).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(history);
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() throws IOException {
+        return gzip(mapper.writeValueAsBytes(history));
+    }
+
+    private static List<LeaderboardEntry> leaderboard() {
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            entries.add(new LeaderboardEntry("player" + i, 40 - i * 3));
+        }
+        return entries;
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+}
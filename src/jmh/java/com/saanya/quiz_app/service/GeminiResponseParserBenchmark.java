@@ -0,0 +1,70 @@
+package com.saanya.quiz_app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saanya.quiz_app.config.CorsConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the streaming {@link GeminiResponseParser} against the previous tree-model
+ * parsing over recorded Gemini payloads. Run with {@code -prof gc} to get
+ * {@code gc.alloc.rate.norm}, the bytes allocated per parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeminiResponseParserBenchmark {
+
+    /** valid: plain JSON text, fenced: markdown-wrapped with prose, safety: filtered, truncated: cut off by MAX_TOKENS */
+    @Param({"valid", "fenced", "safety", "truncated"})
+    public String payload;
+
+    private String response;
+    private GeminiResponseParser streamingParser;
+    private TreeGeminiResponseParser treeParser;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/gemini/" + payload + ".json")) {
+            response = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        ObjectMapper objectMapper = new CorsConfig().objectMapper();
+        streamingParser = new GeminiResponseParser(objectMapper);
+        treeParser = new TreeGeminiResponseParser(objectMapper);
+    }
+
+    @Benchmark
+    public Object streaming() {
+        try {
+            return streamingParser.parse(response, "Science");
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object tree() {
+        try {
+            return treeParser.parse(response, "Science");
+        } catch (Exception e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.saanya.quiz_app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saanya.quiz_app.config.CorsConfig;
+import com.saanya.quiz_app.metrics.QuizMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CPU-bound parts of {@link GeminiService#generateQuestion}: building the prompt
+ * and parsing the response, including the service's own logging and error wrapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeminiServiceBenchmark {
+
+    @Param({"valid", "fenced"})
+    public String payload;
+
+    private GeminiService geminiService;
+    private String response;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/gemini/" + payload + ".json")) {
+            response = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        ObjectMapper objectMapper = new CorsConfig().objectMapper();
+        geminiService = new GeminiService();
+        ReflectionTestUtils.setField(geminiService, "metrics", new QuizMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(geminiService, "logSampler", new LogSampler(1));
+        ReflectionTestUtils.setField(geminiService, "responseParser", new GeminiResponseParser(objectMapper));
+    }
+
+    @Benchmark
+    public String createPrompt() {
+        return geminiService.createPrompt("Science");
+    }
+
+    @Benchmark
+    public Object parseGeminiResponse() {
+        return geminiService.parseGeminiResponse(response, "Science");
+    }
+}
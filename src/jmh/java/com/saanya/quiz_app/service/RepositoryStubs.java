@@ -0,0 +1,41 @@
+package com.saanya.quiz_app.service;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Minimal repository stand-ins for benchmarks: each named query method returns a
+ * canned value, so only the service-side mapping is measured. A {@link Function} value is
+ * called with the method's arguments instead, e.g. to honour a {@code Pageable}.
+ */
+final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> repositoryType, Map<String, Object> results) {
+        Object proxy = Proxy.newProxyInstance(
+                repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType},
+                (self, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "equals" -> self == args[0];
+                            case "hashCode" -> System.identityHashCode(self);
+                            default -> repositoryType.getSimpleName() + " stub";
+                        };
+                    }
+                    Object result = results.get(method.getName());
+                    if (result instanceof Function<?, ?> function) {
+                        return ((Function<Object[], Object>) function).apply(args);
+                    }
+                    if (result != null) {
+                        return result;
+                    }
+                    throw new UnsupportedOperationException(method.getName() + " is not stubbed");
+                });
+        return repositoryType.cast(proxy);
+    }
+}
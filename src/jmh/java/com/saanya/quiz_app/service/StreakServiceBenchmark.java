@@ -0,0 +1,114 @@
+package com.saanya.quiz_app.service;
+
+import com.saanya.quiz_app.archive.ArchivedStreak;
+import com.saanya.quiz_app.archive.StreakArchiveStore;
+import com.saanya.quiz_app.config.ReadYourWrites;
+import com.saanya.quiz_app.dto.LeaderboardEntry;
+import com.saanya.quiz_app.dto.StreakHistory;
+import com.saanya.quiz_app.metrics.QuizMetrics;
+import com.saanya.quiz_app.model.Streak;
+import com.saanya.quiz_app.model.User;
+import com.saanya.quiz_app.repository.StreakRepository;
+import com.saanya.quiz_app.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Entity-to-DTO mapping in {@link StreakService}, with repositories stubbed out so
+ * the numbers reflect the service code rather than the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreakServiceBenchmark {
+
+    private static final String[] CATEGORIES = {
+            "Science", "History", "Sports", "Geography", "Mathematics", "Entertainment", "Literature", "Technology"
+    };
+
+    /** Number of users returned by findTopUsers and streaks in a user's history */
+    @Param({"10", "100", "1000"})
+    public int rows;
+
+    private StreakService streakService;
+
+    @Setup
+    public void setUp() {
+        List<User> users = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            User user = new User();
+            user.setId((long) i + 1);
+            user.setUsername("player" + i);
+            user.setHighestStreak(rows - i);
+            users.add(user);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Streak> streaks = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Streak streak = new Streak();
+            streak.setId((long) i + 1);
+            streak.setUser(users.get(0));
+            streak.setStreakCount(i % 25);
+            streak.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            streak.setPlayedAt(now.minusHours(i));
+            streaks.add(streak);
+        }
+
+        streakService = new StreakService();
+        ReflectionTestUtils.setField(streakService, "metrics", new QuizMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(streakService, "readYourWrites", new ReadYourWrites(Duration.ofSeconds(5)));
+        // Empty archive: the whole history comes from the stubbed repository
+        ReflectionTestUtils.setField(streakService, "archiveStore", new StreakArchiveStore() {
+            @Override
+            public List<ArchivedStreak> findHistory(long userId) {
+                return List.of();
+            }
+        });
+        // Never loaded, so the leaderboard comes from the stubbed repository
+        ReflectionTestUtils.setField(streakService, "userSummaryCache", new UserSummaryCache());
+        ReflectionTestUtils.setField(streakService, "userRepository",
+                RepositoryStubs.stub(UserRepository.class, Map.of("findTopUsers", (Function<Object[], Object>) args ->
+                        users.subList(0, Math.min(users.size(), ((Pageable) args[0]).getPageSize())))));
+        ReflectionTestUtils.setField(streakService, "streakRepository",
+                RepositoryStubs.stub(StreakRepository.class, Map.of("findByUserIdOrderByPlayedAtDesc", streaks)));
+    }
+
+    @Benchmark
+    public List<LeaderboardEntry> leaderboardTop10() {
+        return streakService.getLeaderboard(10);
+    }
+
+    @Benchmark
+    public List<LeaderboardEntry> leaderboardAll() {
+        return streakService.getLeaderboard(rows);
+    }
+
+    @Benchmark
+    public List<StreakHistory> userStreakHistory() {
+        return streakService.getUserStreakHistory(1L);
+    }
+}
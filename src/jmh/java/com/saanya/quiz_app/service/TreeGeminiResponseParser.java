@@ -0,0 +1,112 @@
+package com.saanya.quiz_app.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saanya.quiz_app.model.Question;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Baseline for {@link GeminiResponseParserBenchmark}: the tree-model parsing that
+ * {@code GeminiService.parseGeminiResponse} used before {@link GeminiResponseParser}.
+ * Logging calls are dropped, but every {@code toString()} the debug lines forced is kept.
+ */
+class TreeGeminiResponseParser {
+
+    private final ObjectMapper objectMapper;
+
+    TreeGeminiResponseParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    Question parse(String response, String category) throws Exception {
+        JsonNode root = objectMapper.readTree(response);
+
+        if (!root.has("candidates") || root.get("candidates").isEmpty()) {
+            throw new RuntimeException("Invalid API response structure - no candidates");
+        }
+
+        JsonNode firstCandidate = root.get("candidates").get(0);
+
+        if (firstCandidate.has("finishReason")) {
+            String finishReason = firstCandidate.get("finishReason").asText();
+            if (finishReason.equals("SAFETY") || finishReason.equals("RECITATION") ||
+                    finishReason.equals("OTHER") || finishReason.equals("PROHIBITED_CONTENT")) {
+                throw new RuntimeException("Content filtered by safety settings: " + finishReason);
+            }
+        }
+
+        if (!firstCandidate.has("content")) {
+            firstCandidate.toString();
+            throw new RuntimeException("Invalid candidate structure - missing 'content'");
+        }
+
+        JsonNode content = firstCandidate.get("content");
+        if (!content.has("parts")) {
+            content.toString();
+            throw new RuntimeException("Invalid content structure - missing 'parts'");
+        }
+
+        JsonNode parts = content.get("parts");
+        if (parts.isEmpty() || parts.get(0) == null) {
+            throw new RuntimeException("Invalid content structure - empty 'parts'");
+        }
+        if (!parts.get(0).has("text")) {
+            parts.get(0).toString();
+            throw new RuntimeException("Invalid part structure - missing 'text'");
+        }
+
+        String textContent = parts.get(0).get("text").asText();
+        if (textContent == null || textContent.trim().isEmpty()) {
+            throw new RuntimeException("Empty text content in response");
+        }
+
+        textContent = textContent.trim();
+        textContent = textContent.replaceAll("```json\\s*", "");
+        textContent = textContent.replaceAll("```\\s*", "");
+        textContent = textContent.trim();
+
+        int jsonStart = textContent.indexOf('{');
+        int jsonEnd = textContent.lastIndexOf('}');
+        if (jsonStart >= 0 && jsonEnd > jsonStart) {
+            textContent = textContent.substring(jsonStart, jsonEnd + 1);
+        } else {
+            throw new RuntimeException("Could not find JSON object in response");
+        }
+
+        JsonNode questionNode = objectMapper.readTree(textContent);
+        if (!questionNode.has("question")) {
+            throw new RuntimeException("Question JSON missing 'question' field");
+        }
+        if (!questionNode.has("options")) {
+            throw new RuntimeException("Question JSON missing 'options' field");
+        }
+        if (!questionNode.has("correctIndex")) {
+            throw new RuntimeException("Question JSON missing 'correctIndex' field");
+        }
+
+        Question question = new Question();
+        question.setQuestion(questionNode.get("question").asText());
+        question.setCorrectIndex(questionNode.get("correctIndex").asInt());
+        question.setCategory(category);
+
+        List<String> options = new ArrayList<>();
+        JsonNode optionsNode = questionNode.get("options");
+        if (!optionsNode.isArray()) {
+            throw new RuntimeException("Options field is not an array");
+        }
+        if (optionsNode.size() < 2) {
+            throw new RuntimeException("Need at least 2 options");
+        }
+        for (JsonNode option : optionsNode) {
+            options.add(option.asText());
+        }
+        question.setOptions(options);
+
+        if (question.getCorrectIndex() < 0 || question.getCorrectIndex() >= options.size()) {
+            question.setCorrectIndex(0);
+        }
+        return question;
+    }
+}
@@ -0,0 +1,9 @@
+package com.saanya.quiz_app.archive;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the {@code streaks} table as stored in a {@link StreakArchive}.
+ */
+public record ArchivedStreak(long id, long userId, int streakCount, String category, LocalDateTime playedAt) {
+}
@@ -0,0 +1,272 @@
+package com.saanya.quiz_app.archive;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Archived streaks from one month (all of them, or one block of users), in a compact
+ * columnar format.
+ *
+ * Rows are sorted by user, newest game first, and each column is written separately
+ * inside a gzip stream:
+ * <pre>
+ * "SARC" version year month rowCount
+ * userCount, then per user: userId delta, rows for that user
+ * ids            zigzag varint deltas
+ * streakCounts   varints
+ * categories     dictionary (size + strings), then one varint index per row (0 = null)
+ * playedAt       epoch microseconds (UTC): first as zigzag varint, then deltas
+ * </pre>
+ * Sorting by user keeps ids and timestamps close together, so most deltas fit in one or
+ * two bytes before compression. Instances are immutable and safe to share between threads.
+ */
+public final class StreakArchive {
+
+    private static final int MAGIC = 0x53415243; // "SARC"
+    private static final int VERSION = 1;
+
+    private static final Comparator<ArchivedStreak> FILE_ORDER = Comparator
+            .comparingLong(ArchivedStreak::userId)
+            .thenComparing(ArchivedStreak::playedAt, Comparator.reverseOrder())
+            .thenComparing(ArchivedStreak::id, Comparator.reverseOrder());
+
+    private final YearMonth month;
+    private final long[] userIds;
+    private final int[] userOffsets;
+    private final long[] ids;
+    private final int[] streakCounts;
+    private final String[] categories;
+    private final long[] playedAtMicros;
+
+    private StreakArchive(YearMonth month, long[] userIds, int[] userOffsets, long[] ids,
+                          int[] streakCounts, String[] categories, long[] playedAtMicros) {
+        this.month = month;
+        this.userIds = userIds;
+        this.userOffsets = userOffsets;
+        this.ids = ids;
+        this.streakCounts = streakCounts;
+        this.categories = categories;
+        this.playedAtMicros = playedAtMicros;
+    }
+
+    public YearMonth month() {
+        return month;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * The user's games in this archive, newest first.
+     */
+    public List<ArchivedStreak> rowsFor(long userId) {
+        int index = Arrays.binarySearch(userIds, userId);
+        if (index < 0) {
+            return Collections.emptyList();
+        }
+        int from = userOffsets[index];
+        int to = userOffsets[index + 1];
+        List<ArchivedStreak> rows = new ArrayList<>(to - from);
+        for (int row = from; row < to; row++) {
+            rows.add(new ArchivedStreak(ids[row], userId, streakCounts[row], categories[row], fromMicros(playedAtMicros[row])));
+        }
+        return rows;
+    }
+
+    /**
+     * Every row, in file order; used to merge late rows into an existing archive.
+     */
+    public List<ArchivedStreak> rows() {
+        List<ArchivedStreak> rows = new ArrayList<>(ids.length);
+        for (int user = 0; user < userIds.length; user++) {
+            for (int row = userOffsets[user]; row < userOffsets[user + 1]; row++) {
+                rows.add(new ArchivedStreak(ids[row], userIds[user], streakCounts[row], categories[row],
+                        fromMicros(playedAtMicros[row])));
+            }
+        }
+        return rows;
+    }
+
+    public static void write(YearMonth month, List<ArchivedStreak> streaks, OutputStream target) throws IOException {
+        List<ArchivedStreak> rows = new ArrayList<>(streaks);
+        rows.sort(FILE_ORDER);
+
+        DataOutputStream header = new DataOutputStream(target);
+        header.writeInt(MAGIC);
+        header.writeInt(VERSION);
+        header.flush();
+
+        GZIPOutputStream gzip = new GZIPOutputStream(target, 64 * 1024);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(gzip, 64 * 1024));
+        out.writeInt(month.getYear());
+        out.writeInt(month.getMonthValue());
+        writeVarLong(out, rows.size());
+
+        // Users and the number of rows each one has
+        List<long[]> users = new ArrayList<>();
+        for (ArchivedStreak row : rows) {
+            if (users.isEmpty() || users.get(users.size() - 1)[0] != row.userId()) {
+                users.add(new long[]{row.userId(), 0});
+            }
+            users.get(users.size() - 1)[1]++;
+        }
+        writeVarLong(out, users.size());
+        long previousUser = 0;
+        for (long[] user : users) {
+            writeVarLong(out, user[0] - previousUser);
+            writeVarLong(out, user[1]);
+            previousUser = user[0];
+        }
+
+        long previousId = 0;
+        for (ArchivedStreak row : rows) {
+            writeVarLong(out, zigZag(row.id() - previousId));
+            previousId = row.id();
+        }
+
+        for (ArchivedStreak row : rows) {
+            writeVarLong(out, row.streakCount());
+        }
+
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        for (ArchivedStreak row : rows) {
+            if (row.category() != null && !dictionary.containsKey(row.category())) {
+                entries.add(row.category());
+                dictionary.put(row.category(), entries.size());
+            }
+        }
+        writeVarLong(out, entries.size());
+        for (String entry : entries) {
+            out.writeUTF(entry);
+        }
+        for (ArchivedStreak row : rows) {
+            writeVarLong(out, row.category() == null ? 0 : dictionary.get(row.category()));
+        }
+
+        long previousMicros = 0;
+        for (ArchivedStreak row : rows) {
+            long micros = toMicros(row.playedAt());
+            writeVarLong(out, zigZag(micros - previousMicros));
+            previousMicros = micros;
+        }
+
+        out.flush();
+        gzip.finish();
+    }
+
+    public static StreakArchive read(InputStream source) throws IOException {
+        DataInputStream header = new DataInputStream(source);
+        if (header.readInt() != MAGIC) {
+            throw new IOException("Not a streak archive");
+        }
+        int version = header.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported streak archive version " + version);
+        }
+
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(source, 64 * 1024), 64 * 1024));
+        YearMonth month = YearMonth.of(in.readInt(), in.readInt());
+        int rowCount = (int) readVarLong(in);
+
+        int userCount = (int) readVarLong(in);
+        long[] userIds = new long[userCount];
+        int[] userOffsets = new int[userCount + 1];
+        long previousUser = 0;
+        for (int i = 0; i < userCount; i++) {
+            userIds[i] = previousUser + readVarLong(in);
+            userOffsets[i + 1] = userOffsets[i] + (int) readVarLong(in);
+            previousUser = userIds[i];
+        }
+
+        long[] ids = new long[rowCount];
+        long previousId = 0;
+        for (int i = 0; i < rowCount; i++) {
+            ids[i] = previousId + unZigZag(readVarLong(in));
+            previousId = ids[i];
+        }
+
+        int[] streakCounts = new int[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            streakCounts[i] = (int) readVarLong(in);
+        }
+
+        int dictionarySize = (int) readVarLong(in);
+        String[] dictionary = new String[dictionarySize + 1];
+        for (int i = 1; i <= dictionarySize; i++) {
+            dictionary[i] = in.readUTF();
+        }
+        String[] categories = new String[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            categories[i] = dictionary[(int) readVarLong(in)];
+        }
+
+        long[] playedAtMicros = new long[rowCount];
+        long previousMicros = 0;
+        for (int i = 0; i < rowCount; i++) {
+            playedAtMicros[i] = previousMicros + unZigZag(readVarLong(in));
+            previousMicros = playedAtMicros[i];
+        }
+
+        return new StreakArchive(month, userIds, userOffsets, ids, streakCounts, categories, playedAtMicros);
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        Instant instant = time.toInstant(ZoneOffset.UTC);
+        return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(
+                Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000,
+                ZoneOffset.UTC);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in streak archive");
+    }
+}
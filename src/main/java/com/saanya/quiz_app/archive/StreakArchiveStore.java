@@ -0,0 +1,106 @@
+package com.saanya.quiz_app.archive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Archived streaks in the {@code streak_archives} table (migration V10): one
+ * {@link StreakArchive} per month and block of {@value #USERS_PER_BLOCK} user ids.
+ *
+ * Living in the shared database, archives are seen by every instance and written in the
+ * same transaction that removes their rows from {@code streaks}. A user's history only
+ * reads the blocks holding their id, straight from the primary key, so its cost follows
+ * that block's size and the number of archived months, not the whole archive.
+ */
+@Component
+public class StreakArchiveStore {
+
+    // Part of the stored layout (user_block = user_id / USERS_PER_BLOCK); changing it needs a migration
+    static final int USERS_PER_BLOCK = 1024;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public static long blockOf(long userId) {
+        return Math.floorDiv(userId, USERS_PER_BLOCK);
+    }
+
+    /**
+     * Adds rows to the month's archive, merged by id with what is already stored, so
+     * adding the same rows twice changes nothing. Runs in the caller's transaction, so it
+     * commits together with the removal of the rows from {@code streaks}.
+     */
+    public void append(YearMonth month, List<ArchivedStreak> rows) {
+        Map<Long, List<ArchivedStreak>> byBlock = new TreeMap<>();
+        for (ArchivedStreak row : rows) {
+            byBlock.computeIfAbsent(blockOf(row.userId()), block -> new ArrayList<>()).add(row);
+        }
+        Date monthStart = Date.valueOf(month.atDay(1));
+        for (Map.Entry<Long, List<ArchivedStreak>> block : byBlock.entrySet()) {
+            appendBlock(month, monthStart, block.getKey(), block.getValue());
+        }
+    }
+
+    /**
+     * The user's archived games, newest first.
+     */
+    public List<ArchivedStreak> findHistory(long userId) {
+        List<ArchivedStreak> history = new ArrayList<>();
+        jdbcTemplate.query(
+                "SELECT data FROM streak_archives WHERE user_block = ? ORDER BY month_start DESC",
+                (RowCallbackHandler) rs -> history.addAll(decode(rs.getBytes(1)).rowsFor(userId)),
+                blockOf(userId));
+        return history;
+    }
+
+    private void appendBlock(YearMonth month, Date monthStart, long block, List<ArchivedStreak> rows) {
+        Map<Long, ArchivedStreak> byId = new LinkedHashMap<>();
+        List<byte[]> existing = jdbcTemplate.query(
+                "SELECT data FROM streak_archives WHERE user_block = ? AND month_start = ?",
+                (rs, rowNum) -> rs.getBytes(1), block, monthStart);
+        if (!existing.isEmpty()) {
+            decode(existing.get(0)).rows().forEach(row -> byId.put(row.id(), row));
+        }
+        rows.forEach(row -> byId.put(row.id(), row));
+        List<ArchivedStreak> merged = new ArrayList<>(byId.values());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            StreakArchive.write(month, merged, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (existing.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO streak_archives (user_block, month_start, row_count, data, archived_at) "
+                    + "VALUES (?, ?, ?, ?, ?)", block, monthStart, merged.size(), out.toByteArray(), now);
+        } else {
+            jdbcTemplate.update("UPDATE streak_archives SET row_count = ?, data = ?, archived_at = ? "
+                    + "WHERE user_block = ? AND month_start = ?", merged.size(), out.toByteArray(), now, block, monthStart);
+        }
+    }
+
+    private static StreakArchive decode(byte[] data) {
+        try {
+            return StreakArchive.read(new ByteArrayInputStream(data));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt streak archive", e);
+        }
+    }
+}
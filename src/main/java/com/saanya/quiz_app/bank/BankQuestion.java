@@ -0,0 +1,7 @@
+package com.saanya.quiz_app.bank;
+
+/**
+ * One validated row of {@code question_bank}; {@code options} is already a JSON array.
+ */
+record BankQuestion(String category, String question, String options, int correctIndex, String contentHash) {
+}
@@ -0,0 +1,22 @@
+package com.saanya.quiz_app.bank;
+
+import java.util.List;
+
+/**
+ * Outcome of one question bank import.
+ *
+ * @param duplicates    valid records whose content hash was already in the table (or earlier in the file)
+ * @param peakHeapBytes sum of the heap pools' peak usage during the import, an upper bound
+ *                      since the pools need not peak at the same moment
+ * @param sampleErrors  the first few rejected records, as {@code offset: reason}
+ */
+public record ImportReport(String file, long bytes, long records, long inserted, long duplicates, long invalid,
+                           double seconds, double recordsPerSecond, long peakHeapBytes, List<String> sampleErrors) {
+
+    public String summary() {
+        return String.format("%s: %d records (%d inserted, %d duplicate, %d invalid) from %.1f MB in %.1fs, "
+                        + "%.0f records/s, peak heap %.1f MB",
+                file, records, inserted, duplicates, invalid, bytes / 1048576.0, seconds, recordsPerSecond,
+                peakHeapBytes / 1048576.0);
+    }
+}
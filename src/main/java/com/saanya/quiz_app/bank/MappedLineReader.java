@@ -0,0 +1,120 @@
+package com.saanya.quiz_app.bank;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Splits a newline-delimited file into chunks that start and end on line boundaries, and
+ * walks the lines of one chunk through a read-only memory mapping. Chunks are independent,
+ * so several threads can read the same channel at once.
+ *
+ * Lines are handed out in a reused buffer without decoding; a line longer than
+ * {@code maxLineBytes} is skipped and reported instead of growing the buffer further.
+ */
+class MappedLineReader {
+
+    interface LineHandler {
+
+        /**
+         * @param offset file position of the first byte of the line, for error reporting
+         */
+        void line(byte[] bytes, int length, long offset);
+
+        void overlong(long offset);
+    }
+
+    record Chunk(long start, long length) {
+    }
+
+    private final FileChannel channel;
+    private final int maxLineBytes;
+
+    MappedLineReader(FileChannel channel, int maxLineBytes) {
+        this.channel = channel;
+        this.maxLineBytes = maxLineBytes;
+    }
+
+    /**
+     * Cuts the file into pieces of roughly {@code chunkBytes}, each extended to the end of
+     * the line it would otherwise split.
+     */
+    List<Chunk> split(long chunkBytes) throws IOException {
+        long size = channel.size();
+        List<Chunk> chunks = new ArrayList<>();
+        long start = 0;
+        while (start < size) {
+            long end = start + chunkBytes >= size ? size : nextLineStart(start + chunkBytes, size);
+            chunks.add(new Chunk(start, end - start));
+            start = end;
+        }
+        return chunks;
+    }
+
+    void read(Chunk chunk, LineHandler handler) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk.start(), chunk.length());
+        byte[] line = new byte[1024];
+        int length = 0;
+        boolean overlong = false;
+        long lineStart = chunk.start();
+
+        while (buffer.hasRemaining()) {
+            byte b = buffer.get();
+            if (b == '\n') {
+                emit(handler, line, length, overlong, lineStart);
+                length = 0;
+                overlong = false;
+                lineStart = chunk.start() + buffer.position();
+            } else if (!overlong) {
+                if (length == maxLineBytes) {
+                    overlong = true;
+                    continue;
+                }
+                if (length == line.length) {
+                    line = Arrays.copyOf(line, Math.min(line.length * 2, maxLineBytes));
+                }
+                line[length++] = b;
+            }
+        }
+        if (length > 0 || overlong) {
+            emit(handler, line, length, overlong, lineStart);
+        }
+    }
+
+    private static void emit(LineHandler handler, byte[] line, int length, boolean overlong, long offset) {
+        if (overlong) {
+            handler.overlong(offset);
+            return;
+        }
+        // Tolerate CRLF files
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        if (length > 0) {
+            handler.line(line, length, offset);
+        }
+    }
+
+    private long nextLineStart(long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+}
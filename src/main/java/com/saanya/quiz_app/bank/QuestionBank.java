@@ -0,0 +1,152 @@
+package com.saanya.quiz_app.bank;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saanya.quiz_app.model.ChangeEvent;
+import com.saanya.quiz_app.model.Question;
+import com.saanya.quiz_app.outbox.ChangeEventHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * JDBC access to {@code question_bank}. Inserts go through plain batches instead of JPA so
+ * millions of rows never become managed entities. Cached id ranges are dropped on
+ * {@code QUESTION_BANK_CHANGED} events, so an import on one instance reaches all of them.
+ */
+@Repository
+public class QuestionBank implements ChangeEventHandler {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO question_bank (category, category_key, question, options, correct_index, content_hash) "
+                    + "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private static final TypeReference<List<String>> OPTIONS_TYPE = new TypeReference<>() {
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Lowest and highest id per category key; ids are dense enough after a bulk import that a
+    // random seek between them picks a near-uniform question without ORDER BY random().
+    // Loaded for all categories at once, so client-sent names that match nothing cost no query
+    // and take no space. Null until first use and after every invalidation.
+    private volatile Map<String, long[]> idRanges;
+
+    /**
+     * The case-folded form categories are matched and deduplicated by.
+     */
+    static String categoryKey(String category) {
+        return category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Inserts the batch, skipping rows whose content hash already exists.
+     *
+     * @return the number of rows actually inserted
+     */
+    int insert(List<BankQuestion> batch) {
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                BankQuestion question = batch.get(i);
+                ps.setString(1, question.category());
+                ps.setString(2, categoryKey(question.category()));
+                ps.setString(3, question.question());
+                ps.setString(4, question.options());
+                ps.setInt(5, question.correctIndex());
+                ps.setString(6, question.contentHash());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batch.size();
+            }
+        });
+
+        int inserted = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                inserted += count;
+            }
+        }
+        return inserted;
+    }
+
+    public Optional<Question> randomQuestion(String category) {
+        if (category == null) {
+            return Optional.empty();
+        }
+        String key = categoryKey(category);
+        long[] range = idRanges().get(key);
+        if (range == null) {
+            return Optional.empty();
+        }
+
+        long pick = range[0] + ThreadLocalRandom.current().nextLong(range[1] - range[0] + 1);
+        List<Question> questions = jdbcTemplate.query(
+                "SELECT question, options, correct_index, category FROM question_bank "
+                        + "WHERE category_key = ? AND id >= ? ORDER BY id LIMIT 1",
+                (rs, rowNum) -> new Question(rs.getString(1), readOptions(rs.getString(2)), rs.getInt(3), rs.getString(4)),
+                key, pick);
+        return questions.stream().findFirst();
+    }
+
+    /**
+     * Forgets cached id ranges, so categories added or grown by an import are picked up.
+     */
+    synchronized void invalidateRanges() {
+        idRanges = null;
+    }
+
+    @Override
+    public void apply(List<ChangeEvent> events) {
+        for (ChangeEvent event : events) {
+            if (event.getEventType() == ChangeEvent.Type.QUESTION_BANK_CHANGED) {
+                invalidateRanges();
+                return;
+            }
+        }
+    }
+
+    private Map<String, long[]> idRanges() {
+        Map<String, long[]> ranges = idRanges;
+        return ranges != null ? ranges : loadRanges();
+    }
+
+    // Synchronized with invalidateRanges, so a load that started before an import finished
+    // cannot overwrite the invalidation with stale ranges
+    private synchronized Map<String, long[]> loadRanges() {
+        if (idRanges == null) {
+            Map<String, long[]> ranges = new HashMap<>();
+            jdbcTemplate.query(
+                    "SELECT category_key, MIN(id), MAX(id) FROM question_bank GROUP BY category_key",
+                    (RowCallbackHandler) rs -> ranges.put(rs.getString(1), new long[]{rs.getLong(2), rs.getLong(3)}));
+            idRanges = Map.copyOf(ranges);
+        }
+        return idRanges;
+    }
+
+    private List<String> readOptions(String json) {
+        try {
+            return objectMapper.readValue(json, OPTIONS_TYPE);
+        } catch (IOException e) {
+            throw new RuntimeException("Corrupt options for question bank row", e);
+        }
+    }
+}
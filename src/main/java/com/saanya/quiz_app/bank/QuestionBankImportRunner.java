@@ -0,0 +1,54 @@
+package com.saanya.quiz_app.bank;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Offline import: starting the application with {@code --quiz.import.file=<path>} imports
+ * the file, logs the report and exits (see README).
+ */
+@Component
+@ConditionalOnProperty(name = "quiz.import.file")
+public class QuestionBankImportRunner implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionBankImportRunner.class);
+
+    @Autowired
+    private QuestionBankImporter importer;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Value("${quiz.import.file}")
+    private Path file;
+
+    @Value("${quiz.import.exit:true}")
+    private boolean exitWhenDone;
+
+    @Override
+    public void run(String... args) throws Exception {
+        int exitCode = 0;
+        try {
+            ImportReport report = importer.importFile(file);
+            logger.info(report.summary());
+            report.sampleErrors().forEach(error -> logger.warn("Rejected {}", error));
+        } catch (Exception e) {
+            logger.error("Import of {} failed", file, e);
+            exitCode = 1;
+        }
+
+        if (exitWhenDone) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.saanya.quiz_app.bank;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.saanya.quiz_app.dto.QuestionBankImportStatus;
+import com.saanya.quiz_app.metrics.QuizMetrics;
+import com.saanya.quiz_app.model.Question;
+import com.saanya.quiz_app.outbox.ChangeEventPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Imports a JSON-lines or CSV question bank file into {@code question_bank}.
+ *
+ * The file is memory-mapped in line-aligned chunks that a fixed pool of workers parses in
+ * parallel; each worker validates its records and writes them in JDBC batches. Nothing but
+ * the current line and batch is held per worker, so heap use stays flat however large the
+ * file is. Duplicates are dropped by the unique content hash, which makes re-running an
+ * import safe.
+ */
+@Service
+public class QuestionBankImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuestionBankImporter.class);
+
+    private static final int SAMPLE_ERRORS = 20;
+
+    @Autowired
+    private QuestionBank questionBank;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private QuizMetrics metrics;
+
+    @Autowired
+    private ChangeEventPublisher changeEvents;
+
+    // 0 = one worker per core
+    @Value("${quiz.import.threads:0}")
+    private int threads;
+
+    @Value("${quiz.import.chunk-size:64MB}")
+    private DataSize chunkSize;
+
+    @Value("${quiz.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${quiz.import.max-line-length:64KB}")
+    private DataSize maxLineLength;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile QuestionBankImportStatus status = new QuestionBankImportStatus();
+
+    public ImportReport importFile(Path file) throws IOException {
+        ObjectReader questionReader = objectMapper.readerFor(Question.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        QuestionRecordParser.Format format = QuestionRecordParser.formatOf(file.getFileName().toString());
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        LongAdder records = new LongAdder();
+        LongAdder inserted = new LongAdder();
+        LongAdder invalid = new LongAdder();
+        ConcurrentLinkedQueue<String> errors = new ConcurrentLinkedQueue<>();
+        AtomicInteger errorCount = new AtomicInteger();
+
+        List<MemoryPoolMXBean> heapPools = heapPools();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long started = System.nanoTime();
+
+        long bytes;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            bytes = channel.size();
+            MappedLineReader reader = new MappedLineReader(channel, (int) maxLineLength.toBytes());
+            List<MappedLineReader.Chunk> chunks = reader.split(chunkSize.toBytes());
+            logger.info("Importing {} ({} MB, {} chunks, {} workers)", file, bytes / 1048576, chunks.size(), workers);
+
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(workers, Math.max(1, chunks.size())));
+            try {
+                List<Future<?>> futures = new ArrayList<>(chunks.size());
+                for (MappedLineReader.Chunk chunk : chunks) {
+                    futures.add(executor.submit(() -> {
+                        importChunk(reader, chunk, new QuestionRecordParser(format, objectMapper, questionReader),
+                                records, inserted, invalid, errors, errorCount);
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Import interrupted", e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Import failed: " + e.getCause().getMessage(), e.getCause());
+            } finally {
+                executor.shutdownNow();
+                questionBank.invalidateRanges();
+            }
+        }
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peakHeap += pool.getPeakUsage().getUsed();
+        }
+
+        long total = records.sum();
+        long valid = total - invalid.sum();
+        ImportReport report = new ImportReport(file.toString(), bytes, total, inserted.sum(), valid - inserted.sum(),
+                invalid.sum(), seconds, seconds > 0 ? total / seconds : total, peakHeap, List.copyOf(errors));
+        metrics.recordQuestionBankImport(report.inserted(), report.duplicates(), report.invalid());
+        if (report.inserted() > 0) {
+            // Other instances drop their cached id ranges too
+            changeEvents.questionBankChanged();
+        }
+        logger.info("Import finished: {}", report.summary());
+        return report;
+    }
+
+    /**
+     * Runs {@link #importFile} on a background thread.
+     *
+     * @return false if an import is already running
+     */
+    public boolean startAsync(Path file) {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        QuestionBankImportStatus started = new QuestionBankImportStatus();
+        started.setRunning(true);
+        started.setFile(file.toString());
+        started.setStartedAt(LocalDateTime.now());
+        status = started;
+
+        Thread worker = new Thread(() -> {
+            QuestionBankImportStatus finished = new QuestionBankImportStatus();
+            finished.setFile(started.getFile());
+            finished.setStartedAt(started.getStartedAt());
+            try {
+                finished.setReport(importFile(file));
+            } catch (Exception e) {
+                logger.error("Question bank import of {} failed", file, e);
+                finished.setError(e.getMessage());
+            } finally {
+                status = finished;
+                running.set(false);
+            }
+        }, "question-bank-import");
+        worker.setDaemon(true);
+        worker.start();
+        return true;
+    }
+
+    public QuestionBankImportStatus getStatus() {
+        return status;
+    }
+
+    private void importChunk(MappedLineReader reader, MappedLineReader.Chunk chunk, QuestionRecordParser parser,
+                             LongAdder records, LongAdder inserted, LongAdder invalid,
+                             ConcurrentLinkedQueue<String> errors, AtomicInteger errorCount) throws IOException {
+        List<BankQuestion> batch = new ArrayList<>(batchSize);
+
+        reader.read(chunk, new MappedLineReader.LineHandler() {
+            @Override
+            public void line(byte[] bytes, int length, long offset) {
+                if (offset == 0 && parser.isHeader(bytes, length)) {
+                    return;
+                }
+                records.increment();
+                try {
+                    batch.add(parser.parse(bytes, length));
+                } catch (RuntimeException e) {
+                    reject(offset, e.getMessage());
+                    return;
+                }
+                if (batch.size() == batchSize) {
+                    inserted.add(questionBank.insert(batch));
+                    batch.clear();
+                }
+            }
+
+            @Override
+            public void overlong(long offset) {
+                records.increment();
+                reject(offset, "Line longer than " + maxLineLength);
+            }
+
+            private void reject(long offset, String reason) {
+                invalid.increment();
+                if (errorCount.getAndIncrement() < SAMPLE_ERRORS) {
+                    errors.add("offset " + offset + ": " + reason);
+                }
+            }
+        });
+
+        if (!batch.isEmpty()) {
+            inserted.add(questionBank.insert(batch));
+        }
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        List<MemoryPoolMXBean> pools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pools.add(pool);
+            }
+        }
+        return pools;
+    }
+}
@@ -0,0 +1,192 @@
+package com.saanya.quiz_app.bank;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.saanya.quiz_app.model.Question;
+import com.saanya.quiz_app.service.QuestionRules;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Turns one line of a question bank file into a {@link BankQuestion}, applying the same
+ * {@link QuestionRules} as generated questions. Not thread-safe: each import worker uses
+ * its own instance.
+ *
+ * JSON lines use the {@link Question} shape ({@code question}, {@code options},
+ * {@code correctIndex}, {@code category}). CSV lines are
+ * {@code category,question,correctIndex,option1,option2[,...]} with optional double-quoted
+ * fields; quoted fields may not contain line breaks.
+ */
+class QuestionRecordParser {
+
+    enum Format {
+        JSONL,
+        CSV
+    }
+
+    static final int MAX_CATEGORY_LENGTH = 50;
+    static final int MAX_QUESTION_LENGTH = 1000;
+    static final int MAX_OPTIONS_JSON_LENGTH = 8000;
+
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader questionReader;
+    private final MessageDigest digest;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+
+    QuestionRecordParser(Format format, ObjectMapper objectMapper, ObjectReader questionReader) {
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.questionReader = questionReader;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static Format formatOf(String fileName) {
+        return fileName.toLowerCase(Locale.ROOT).endsWith(".csv") ? Format.CSV : Format.JSONL;
+    }
+
+    /**
+     * True for a CSV header line, which is skipped rather than counted as invalid.
+     */
+    boolean isHeader(byte[] bytes, int length) {
+        if (format != Format.CSV) {
+            return false;
+        }
+        String line = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        return line.regionMatches(true, 0, "category,", 0, "category,".length());
+    }
+
+    /**
+     * @throws RuntimeException with a short reason when the record is malformed or invalid
+     */
+    BankQuestion parse(byte[] bytes, int length) {
+        Question question = format == Format.CSV ? parseCsv(bytes, length) : parseJson(bytes, length);
+
+        QuestionRules.requireComplete(question);
+        if (!QuestionRules.correctIndexInRange(question)) {
+            // Unlike generated questions there is nobody to ask again, so the record is dropped
+            throw new RuntimeException("correctIndex " + question.getCorrectIndex()
+                    + " is out of bounds for " + question.getOptions().size() + " options");
+        }
+
+        String category = question.getCategory() == null ? "" : question.getCategory().trim();
+        String text = question.getQuestion().trim();
+        if (category.isEmpty()) {
+            throw new RuntimeException("Missing category");
+        }
+        if (category.length() > MAX_CATEGORY_LENGTH) {
+            throw new RuntimeException("Category longer than " + MAX_CATEGORY_LENGTH + " characters");
+        }
+        if (text.isEmpty() || text.length() > MAX_QUESTION_LENGTH) {
+            throw new RuntimeException("Question must be 1-" + MAX_QUESTION_LENGTH + " characters");
+        }
+
+        List<String> options = new ArrayList<>(question.getOptions().size());
+        for (String option : question.getOptions()) {
+            if (option == null || option.isBlank()) {
+                throw new RuntimeException("Blank option");
+            }
+            options.add(option.trim());
+        }
+
+        String optionsJson;
+        try {
+            optionsJson = objectMapper.writeValueAsString(options);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Unserializable options");
+        }
+        if (optionsJson.length() > MAX_OPTIONS_JSON_LENGTH) {
+            throw new RuntimeException("Options longer than " + MAX_OPTIONS_JSON_LENGTH + " characters");
+        }
+
+        return new BankQuestion(category, text, optionsJson, question.getCorrectIndex(),
+                contentHash(category, text, options));
+    }
+
+    private Question parseJson(byte[] bytes, int length) {
+        try {
+            return questionReader.readValue(bytes, 0, length);
+        } catch (IOException e) {
+            throw new RuntimeException("Malformed JSON");
+        }
+    }
+
+    private Question parseCsv(byte[] bytes, int length) {
+        List<String> values = splitCsv(new String(bytes, 0, length, StandardCharsets.UTF_8));
+        if (values.size() < 3) {
+            throw new RuntimeException("Expected category,question,correctIndex,options...");
+        }
+        Integer correctIndex;
+        try {
+            correctIndex = Integer.valueOf(values.get(2).trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("correctIndex is not a number");
+        }
+        return new Question(values.get(1), new ArrayList<>(values.subList(3, values.size())),
+                correctIndex, values.get(0));
+    }
+
+    private List<String> splitCsv(String line) {
+        fields.clear();
+        field.setLength(0);
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new RuntimeException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * SHA-256 over the case-folded category, question and options, so the same item
+     * imported twice (from either format) maps to one row.
+     */
+    private String contentHash(String category, String question, List<String> options) {
+        digest.reset();
+        update(QuestionBank.categoryKey(category));
+        update(question);
+        for (String option : options) {
+            update(option);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void update(String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        // Separator, so ("ab", "c") and ("a", "bc") hash differently
+        digest.update((byte) 0);
+    }
+}
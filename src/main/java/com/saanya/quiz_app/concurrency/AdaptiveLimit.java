@@ -0,0 +1,150 @@
+package com.saanya.quiz_app.concurrency;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to latency, after the gradient algorithm of Netflix's
+ * concurrency-limits.
+ *
+ * Once per window the average latency of the window (short RTT) is compared with a
+ * slow moving average (long RTT). While the short RTT stays within {@code tolerance}
+ * of the long one the limit grows by about its square root; as latency rises above that
+ * it shrinks in proportion, and a dropped request (timeout, 503) cuts it
+ * multiplicatively. Windows where the limit was never approached leave it unchanged,
+ * since they say nothing about capacity.
+ */
+public class AdaptiveLimit {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    private static final double LONG_RTT_ALPHA = 0.05;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger peakInflight = new AtomicInteger();
+    private final LongAdder rttSum = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final AtomicBoolean dropped = new AtomicBoolean();
+
+    private volatile int limit;
+    private volatile long windowEnd = System.nanoTime() + WINDOW_NANOS;
+
+    // Guarded by this
+    private double estimatedLimit;
+    private double longRtt;
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                peakInflight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Admits {@code permits} requests at once, each released on its own. While nothing is
+     * in flight a batch larger than the limit is admitted anyway, so it cannot starve.
+     */
+    public boolean tryAcquire(int permits) {
+        while (true) {
+            int current = inflight.get();
+            if (current > 0 && current + permits > limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + permits)) {
+                peakInflight.accumulateAndGet(current + permits, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param startNanos {@link System#nanoTime()} when the request was admitted
+     * @param drop whether the request failed in a way that signals overload
+     */
+    public void release(long startNanos, boolean drop) {
+        release(startNanos, drop, System.nanoTime());
+    }
+
+    // Takes the clock reading, so tests can step through windows
+    void release(long startNanos, boolean drop, long now) {
+        inflight.decrementAndGet();
+        if (drop) {
+            dropped.set(true);
+        } else {
+            rttSum.add(now - startNanos);
+            samples.increment();
+        }
+        if (now - windowEnd >= 0) {
+            update(now);
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private synchronized void update(long now) {
+        if (now - windowEnd < 0) {
+            // Another request closed this window already
+            return;
+        }
+        windowEnd = now + WINDOW_NANOS;
+        long count = samples.sumThenReset();
+        long sum = rttSum.sumThenReset();
+        boolean drop = dropped.getAndSet(false);
+        int peak = peakInflight.getAndSet(inflight.get());
+
+        if (drop) {
+            setLimit(estimatedLimit * BACKOFF_RATIO);
+            return;
+        }
+        if (count < MIN_WINDOW_SAMPLES) {
+            return;
+        }
+
+        double shortRtt = (double) sum / count;
+        longRtt = longRtt == 0 ? shortRtt : longRtt + (shortRtt - longRtt) * LONG_RTT_ALPHA;
+        if (longRtt / shortRtt > 2) {
+            // Latency fell far below the baseline (e.g. a dependency recovered); let the baseline catch up
+            longRtt *= 0.95;
+        }
+        if (peak < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        setLimit(estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING);
+    }
+
+    private void setLimit(double value) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, value));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,113 @@
+package com.saanya.quiz_app.concurrency;
+
+import com.saanya.quiz_app.metrics.QuizMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Sheds load at the edge: each endpoint group has its own {@link AdaptiveLimit}, and a
+ * request that would exceed its group's limit is rejected straight away with 503 and
+ * {@code Retry-After} instead of waiting in Tomcat's queue. Groups are independent, so
+ * a slow Gemini only shrinks the {@code generate} limit while reads keep being served.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+
+    private static final String REJECTED_BODY = "{\"error\":\"Server is busy, please retry later\"}";
+
+    private final Map<String, AdaptiveLimit> limits;
+    private final QuizMetrics metrics;
+    private final String retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(Map<String, AdaptiveLimit> limits, QuizMetrics metrics, int retryAfterSeconds) {
+        this.limits = limits;
+        this.metrics = metrics;
+        this.retryAfterSeconds = Integer.toString(retryAfterSeconds);
+    }
+
+    /**
+     * Endpoint group of a request: {@code generate} (Gemini), {@code auth} (BCrypt),
+     * {@code reads} (other GETs and question bank lookups) or {@code writes}.
+     */
+    static String group(HttpServletRequest request) {
+        // Normalized like RateLimitFilter, so /api/quiz/gener%61te still counts as generate
+        String path = PATH_HELPER.getPathWithinApplication(request);
+        if (path.equals("/api/quiz/bank")) {
+            return "reads";
+        }
+        if (path.startsWith("/api/quiz/")) {
+            return "generate";
+        }
+        if (path.startsWith("/api/auth/")) {
+            return "auth";
+        }
+        return "GET".equals(request.getMethod()) ? "reads" : "writes";
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // CORS preflights are answered without touching any dependency
+        return "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String group = group(request);
+        AdaptiveLimit limit = limits.get(group);
+        if (limit == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (!limit.tryAcquire()) {
+            metrics.recordConcurrencyRejection(group);
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", retryAfterSeconds);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(REJECTED_BODY);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean drop = false;
+        try {
+            chain.doFilter(request, response);
+            int status = response.getStatus();
+            drop = status == HttpServletResponse.SC_SERVICE_UNAVAILABLE
+                    || status == HttpServletResponse.SC_GATEWAY_TIMEOUT;
+        } catch (IOException | ServletException | RuntimeException e) {
+            // Only timeouts signal overload; other errors are ordinary, completed requests
+            drop = isTimeout(e);
+            throw e;
+        } finally {
+            limit.release(start, drop);
+        }
+    }
+
+    /**
+     * Whether {@code e} or one of its causes is a timeout: {@link TimeoutException} (Reactor's
+     * {@code block(Duration)} and {@code timeout()}), a socket timeout or a Netty read/write
+     * timeout from the WebClient.
+     */
+    static boolean isTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException || cause instanceof InterruptedIOException
+                    || cause instanceof io.netty.handler.timeout.TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
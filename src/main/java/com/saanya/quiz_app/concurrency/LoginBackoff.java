@@ -0,0 +1,100 @@
+package com.saanya.quiz_app.concurrency;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exponential backoff after failed logins, per username and client address: after the
+ * n-th consecutive failure the next attempt from that address is refused for
+ * {@code base * 2^(n-1)}, up to {@code max}. Failures from one address never delay the
+ * same account from another, so a stranger guessing passwords cannot lock its owner out.
+ */
+public class LoginBackoff {
+
+    private static final class Failures {
+        int count;
+        long blockedUntil;
+        long lastFailure;
+    }
+
+    private final long baseNanos;
+    private final long maxNanos;
+    private final long forgetAfterNanos;
+    private final StripedCache<Failures> failures;
+
+    public LoginBackoff(long baseNanos, long maxNanos, int maxKeys, int stripes) {
+        this.baseNanos = baseNanos;
+        this.maxNanos = maxNanos;
+        // A streak of failures is forgotten once it is well past the longest backoff
+        this.forgetAfterNanos = Math.max(maxNanos * 2, TimeUnit.MINUTES.toNanos(15));
+        this.failures = new StripedCache<>(maxKeys, stripes);
+    }
+
+    /** @return 0 if a login attempt is allowed now, otherwise the nanoseconds to wait */
+    public long remainingNanos(String username, String clientAddress) {
+        return remainingNanos(username, clientAddress, System.nanoTime());
+    }
+
+    long remainingNanos(String username, String clientAddress, long now) {
+        String key = key(username, clientAddress);
+        StripedCache.Stripe<Failures> stripe = failures.stripe(key);
+        synchronized (stripe) {
+            Failures entry = stripe.get(key);
+            return entry == null ? 0 : Math.max(0, entry.blockedUntil - now);
+        }
+    }
+
+    public void recordFailure(String username, String clientAddress) {
+        recordFailure(username, clientAddress, System.nanoTime());
+    }
+
+    void recordFailure(String username, String clientAddress, long now) {
+        String key = key(username, clientAddress);
+        StripedCache.Stripe<Failures> stripe = failures.stripe(key);
+        synchronized (stripe) {
+            if (stripe.sweepDue(now, forgetAfterNanos)) {
+                stripe.values().removeIf(entry -> now - entry.lastFailure >= forgetAfterNanos);
+            }
+
+            Failures entry = stripe.get(key);
+            if (entry == null || now - entry.lastFailure >= forgetAfterNanos) {
+                entry = new Failures();
+                stripe.put(key, entry);
+            }
+            entry.count++;
+            entry.lastFailure = now;
+            long delay = baseNanos << Math.min(entry.count - 1, 20);
+            entry.blockedUntil = now + Math.min(maxNanos, delay);
+        }
+    }
+
+    public void recordSuccess(String username, String clientAddress) {
+        String key = key(username, clientAddress);
+        StripedCache.Stripe<Failures> stripe = failures.stripe(key);
+        synchronized (stripe) {
+            stripe.remove(key);
+        }
+    }
+
+    private static String key(String username, String clientAddress) {
+        // Addresses never contain a newline, so the first one ends the address whatever the username holds
+        return clientAddress + "\n" + username;
+    }
+
+    /**
+     * A login was refused before checking the password because of earlier failures from
+     * the same address.
+     */
+    public static class TooManyAttemptsException extends RuntimeException {
+
+        private final long retryAfterNanos;
+
+        public TooManyAttemptsException(long retryAfterNanos) {
+            super("Too many failed login attempts, please retry later");
+            this.retryAfterNanos = retryAfterNanos;
+        }
+
+        public long getRetryAfterSeconds() {
+            return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.saanya.quiz_app.concurrency;
+
+import com.saanya.quiz_app.metrics.QuizMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-IP rate limits on the expensive endpoints, keyed by {@code "METHOD path"}
+ * (e.g. {@code "POST /api/quiz/generate"}). Requests over the limit get 429 with
+ * {@code Retry-After}. Other endpoints pass through untouched.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+
+    private static final String REJECTED_BODY = "{\"error\":\"Too many requests, please retry later\"}";
+
+    private final Map<String, SlidingWindowRateLimiter> limiters;
+    private final Map<String, String> ruleNames;
+    private final QuizMetrics metrics;
+
+    public RateLimitFilter(Map<String, SlidingWindowRateLimiter> limiters, Map<String, String> ruleNames,
+                           QuizMetrics metrics) {
+        this.limiters = limiters;
+        this.ruleNames = ruleNames;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // Decoded, without ;params and duplicate slashes: every spelling Spring MVC maps to the endpoint
+        String endpoint = request.getMethod() + " " + PATH_HELPER.getPathWithinApplication(request);
+        SlidingWindowRateLimiter limiter = limiters.get(endpoint);
+        if (limiter == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // The client address as seen by Tomcat; behind a proxy, enable server.forward-headers-strategy
+        long waitNanos = limiter.tryAcquire(request.getRemoteAddr());
+        if (waitNanos > 0) {
+            metrics.recordRateLimitRejection(ruleNames.get(endpoint));
+            response.setStatus(429);
+            response.setHeader("Retry-After", Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1)));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(REJECTED_BODY);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,86 @@
+package com.saanya.quiz_app.concurrency;
+
+/**
+ * Allows at most {@code limit} requests per key in any sliding {@code window}.
+ *
+ * Uses the sliding window counter approximation: the count of the previous fixed
+ * window, weighted by how much of it still overlaps the sliding window, plus the count
+ * of the current one. That is two ints per key instead of a timestamp per request.
+ * Keys idle for two windows are dropped, and the number of keys is bounded.
+ */
+public class SlidingWindowRateLimiter {
+
+    private static final class Window {
+        long start;
+        int previous;
+        int current;
+
+        Window(long start) {
+            this.start = start;
+        }
+    }
+
+    private final int limit;
+    private final long windowNanos;
+    private final StripedCache<Window> windows;
+
+    public SlidingWindowRateLimiter(int limit, long windowNanos, int maxKeys, int stripes) {
+        this.limit = limit;
+        this.windowNanos = windowNanos;
+        this.windows = new StripedCache<>(maxKeys, stripes);
+    }
+
+    /**
+     * Counts a request for {@code key}.
+     *
+     * @return 0 if it is allowed, otherwise the nanoseconds until the current window ends
+     */
+    public long tryAcquire(String key) {
+        return tryAcquire(key, 1, System.nanoTime());
+    }
+
+    /**
+     * Counts {@code permits} requests for {@code key}, all or none.
+     *
+     * @return 0 if they are allowed, otherwise the nanoseconds until the current window ends
+     */
+    public long tryAcquire(String key, int permits) {
+        return tryAcquire(key, permits, System.nanoTime());
+    }
+
+    long tryAcquire(String key, int permits, long now) {
+        StripedCache.Stripe<Window> stripe = windows.stripe(key);
+        synchronized (stripe) {
+            if (stripe.sweepDue(now, windowNanos)) {
+                stripe.values().removeIf(window -> now - window.start >= 2 * windowNanos);
+            }
+
+            Window window = stripe.get(key);
+            if (window == null) {
+                window = new Window(now);
+                stripe.put(key, window);
+            }
+
+            long elapsed = now - window.start;
+            if (elapsed >= windowNanos) {
+                long windowsPassed = elapsed / windowNanos;
+                window.previous = windowsPassed == 1 ? window.current : 0;
+                window.current = 0;
+                window.start += windowsPassed * windowNanos;
+                elapsed -= windowsPassed * windowNanos;
+            }
+
+            double previousWeight = 1.0 - (double) elapsed / windowNanos;
+            // The last permit must fit, the same test as for a single request
+            if (window.previous * previousWeight + window.current + (permits - 1) >= limit) {
+                return windowNanos - elapsed;
+            }
+            window.current += permits;
+            return 0;
+        }
+    }
+
+    public int trackedKeys() {
+        return windows.size();
+    }
+}
@@ -0,0 +1,84 @@
+package com.saanya.quiz_app.concurrency;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Memory-bounded map from string keys (IPs, usernames, idempotency keys) to small state, split
+ * into independently locked stripes so unrelated keys rarely contend.
+ *
+ * Callers synchronize on the {@link Stripe} returned by {@link #stripe(String)} while
+ * reading or updating its entries. Each stripe holds at most its share of
+ * {@code maxEntries} and drops its least recently used key beyond that.
+ */
+public final class StripedCache<V> {
+
+    public static final class Stripe<V> extends LinkedHashMap<String, V> {
+
+        private final int capacity;
+
+        // Last time idle entries were swept; guarded by this
+        long lastSweep;
+
+        Stripe(int capacity, long now) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.lastSweep = now;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+            return size() > capacity;
+        }
+
+        /**
+         * Whether idle entries are due to be swept, at most once per {@code intervalNanos};
+         * call while holding the stripe's lock.
+         */
+        boolean sweepDue(long now, long intervalNanos) {
+            if (now - lastSweep < intervalNanos) {
+                return false;
+            }
+            lastSweep = now;
+            return true;
+        }
+    }
+
+    private final Stripe<V>[] stripes;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    public StripedCache(int maxEntries, int stripeCount) {
+        int count = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new Stripe[count];
+        this.mask = count - 1;
+        long now = System.nanoTime();
+        int capacity = Math.max(1, maxEntries / count);
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>(capacity, now);
+        }
+    }
+
+    public Stripe<V> stripe(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe<V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Stripe<V> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.saanya.quiz_app.config;
+
+import com.saanya.quiz_app.concurrency.AdaptiveLimit;
+import com.saanya.quiz_app.concurrency.ConcurrencyLimitFilter;
+import com.saanya.quiz_app.metrics.QuizMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Adaptive concurrency limits per endpoint group, configured with
+ * {@code quiz.limits.<group>.initial}, {@code .min} and {@code .max}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "quiz.limits.enabled", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    // Shared with RoomRegistry, whose Gemini calls count against it too
+    @Bean
+    public AdaptiveLimit generateConcurrencyLimit(Environment env) {
+        return limit(env, "generate", 20, 200);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(Environment env, QuizMetrics metrics,
+                                                                                 AdaptiveLimit generateConcurrencyLimit) {
+        Map<String, AdaptiveLimit> limits = new LinkedHashMap<>();
+        limits.put("generate", generateConcurrencyLimit);
+        limits.put("auth", limit(env, "auth", 20, 100));
+        limits.put("writes", limit(env, "writes", 50, 400));
+        limits.put("reads", limit(env, "reads", 100, 1000));
+        limits.forEach((group, limit) ->
+                metrics.registerConcurrencyLimit(group, limit::getLimit, limit::getInflight));
+
+        int retryAfter = env.getProperty("quiz.limits.retry-after-seconds", Integer.class, 1);
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limits, metrics, retryAfter));
+        registration.addUrlPatterns("/api/*");
+        // After the observation filter, so rejected requests still show up in http.server.requests
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private static AdaptiveLimit limit(Environment env, String group, int initial, int max) {
+        String prefix = "quiz.limits." + group + ".";
+        return new AdaptiveLimit(
+                env.getProperty(prefix + "initial", Integer.class, initial),
+                env.getProperty(prefix + "min", Integer.class, 1),
+                env.getProperty(prefix + "max", Integer.class, max),
+                env.getProperty("quiz.limits.tolerance", Double.class, 1.5));
+    }
+}
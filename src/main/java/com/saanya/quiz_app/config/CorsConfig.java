@@ -1,8 +1,19 @@
 package com.saanya.quiz_app.config;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.saanya.quiz_app.dto.StreakHistory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -11,7 +22,9 @@ import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 
 @Configuration
 public class CorsConfig implements WebMvcConfigurer {
@@ -38,6 +51,46 @@ public class CorsConfig implements WebMvcConfigurer {
         return source;
     }
 
+    /**
+     * Smile and CBOR next to JSON; clients opt in with an {@code Accept} header.
+     * JSON stays first, so {@code *}{@code /*} still gets JSON.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring registers these by default with a plain mapper; use ours instead
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter
+                || converter instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2SmileHttpMessageConverter(smileMapper()));
+        converters.add(new MappingJackson2CborHttpMessageConverter(cborMapper()));
+    }
+
+    ObjectMapper smileMapper() {
+        // Shared string values: repeated categories are written once and back-referenced
+        return binaryMapper(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build());
+    }
+
+    ObjectMapper cborMapper() {
+        return binaryMapper(new CBORFactory());
+    }
+
+    private ObjectMapper binaryMapper(JsonFactory factory) {
+        // Same modules and settings as the JSON mapper, but dates as compact number arrays
+        ObjectMapper mapper = objectMapper().copyWith(factory);
+        mapper.addMixIn(StreakHistory.class, BinaryStreakHistoryMixin.class);
+        mapper.disable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS);
+        // The last element is milliseconds, so read it back as such (Jackson defaults to nanoseconds)
+        mapper.disable(DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS);
+        return mapper;
+    }
+
+    // Overrides the string pattern on playedAt: [2025, 10, 19, 14, 5, 3, 120] instead of "2025-10-19T14:05:03"
+    abstract static class BinaryStreakHistoryMixin {
+        @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+        private LocalDateTime playedAt;
+    }
+
     @Bean
     public WebClient webClient() {
         return WebClient.builder().build();
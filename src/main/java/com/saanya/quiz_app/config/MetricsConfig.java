@@ -0,0 +1,18 @@
+package com.saanya.quiz_app.config;
+
+import com.saanya.quiz_app.metrics.QuizMetrics;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterFilter categoryCardinalityLimit() {
+        // QuizMetrics already folds unknown categories into "other"; this caps any
+        // future meter that tags a raw category so it cannot grow without bound
+        return MeterFilter.maximumAllowableTags("quiz", "category",
+                QuizMetrics.KNOWN_CATEGORIES.size() + 1, MeterFilter.deny());
+    }
+}
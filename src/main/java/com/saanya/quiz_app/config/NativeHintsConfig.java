@@ -0,0 +1,63 @@
+package com.saanya.quiz_app.config;
+
+import com.saanya.quiz_app.bank.ImportReport;
+import com.saanya.quiz_app.dto.DailyLeaderboardEntry;
+import com.saanya.quiz_app.dto.DailyResultResponse;
+import com.saanya.quiz_app.dto.DailySubmission;
+import com.saanya.quiz_app.dto.LeaderboardEntry;
+import com.saanya.quiz_app.dto.LoginRequest;
+import com.saanya.quiz_app.dto.QuestionBankImportRequest;
+import com.saanya.quiz_app.dto.QuestionBankImportStatus;
+import com.saanya.quiz_app.dto.QuizRequest;
+import com.saanya.quiz_app.dto.RegisterRequest;
+import com.saanya.quiz_app.dto.StreakBatchRequest;
+import com.saanya.quiz_app.dto.StreakHistory;
+import com.saanya.quiz_app.dto.StreakRequest;
+import com.saanya.quiz_app.dto.StreakResponse;
+import com.saanya.quiz_app.dto.UserResponse;
+import com.saanya.quiz_app.model.Question;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reflection and resource hints for AOT processing and GraalVM native images.
+ *
+ * Controller signatures are registered by Spring automatically, but DTOs also travel
+ * inside lists and {@code Question} is bound directly by {@code GeminiResponseParser},
+ * so every Jackson-bound type is listed here. Entities are handled by Spring Data JPA's
+ * own AOT support.
+ */
+@Configuration
+@RegisterReflectionForBinding({
+        Question.class,
+        ImportReport.class,
+        DailyLeaderboardEntry.class,
+        DailyResultResponse.class,
+        DailySubmission.class,
+        LeaderboardEntry.class,
+        LoginRequest.class,
+        QuestionBankImportRequest.class,
+        QuestionBankImportStatus.class,
+        QuizRequest.class,
+        RegisterRequest.class,
+        StreakBatchRequest.class,
+        StreakHistory.class,
+        StreakRequest.class,
+        StreakResponse.class,
+        UserResponse.class
+})
+@ImportRuntimeHints(NativeHintsConfig.QuizRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class QuizRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Migrations live in per-vendor folders, below the default db/migration/* pattern
+            hints.resources().registerPattern("db/migration/*/*.sql");
+        }
+    }
+}
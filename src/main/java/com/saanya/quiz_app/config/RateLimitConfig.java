@@ -0,0 +1,71 @@
+package com.saanya.quiz_app.config;
+
+import com.saanya.quiz_app.concurrency.LoginBackoff;
+import com.saanya.quiz_app.concurrency.RateLimitFilter;
+import com.saanya.quiz_app.concurrency.SlidingWindowRateLimiter;
+import com.saanya.quiz_app.metrics.QuizMetrics;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-IP rate limits ({@code quiz.rate-limits.<rule>.requests} per
+ * {@code quiz.rate-limits.<rule>.window}) and per-username login backoff.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    // Shared with RoomRegistry, which charges a room's rounds to it
+    @Bean
+    public SlidingWindowRateLimiter generateRateLimiter(Environment env) {
+        return limiter(env, "generate", 30);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(Environment env, QuizMetrics metrics,
+                                                                   SlidingWindowRateLimiter generateRateLimiter) {
+        Map<String, SlidingWindowRateLimiter> limiters = new HashMap<>();
+        Map<String, String> ruleNames = new HashMap<>();
+        addRule(limiters, ruleNames, "generate", "POST /api/quiz/generate", generateRateLimiter);
+        addRule(limiters, ruleNames, "login", "POST /api/auth/login", limiter(env, "login", 20));
+        addRule(limiters, ruleNames, "register", "POST /api/auth/register", limiter(env, "register", 10));
+
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(limiters, ruleNames, metrics));
+        registration.addUrlPatterns("/api/*");
+        registration.setEnabled(env.getProperty("quiz.rate-limits.enabled", Boolean.class, true));
+        // Ahead of the concurrency limiter, so rate-limited requests never take an in-flight slot
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    @Bean
+    public LoginBackoff loginBackoff(Environment env) {
+        return new LoginBackoff(
+                env.getProperty("quiz.rate-limits.login-backoff.base", Duration.class, Duration.ofSeconds(1)).toNanos(),
+                env.getProperty("quiz.rate-limits.login-backoff.max", Duration.class, Duration.ofMinutes(5)).toNanos(),
+                env.getProperty("quiz.rate-limits.max-keys", Integer.class, 100_000),
+                env.getProperty("quiz.rate-limits.stripes", Integer.class, 64));
+    }
+
+    private static void addRule(Map<String, SlidingWindowRateLimiter> limiters, Map<String, String> ruleNames,
+                                String rule, String endpoint, SlidingWindowRateLimiter limiter) {
+        limiters.put(endpoint, limiter);
+        ruleNames.put(endpoint, rule);
+    }
+
+    private static SlidingWindowRateLimiter limiter(Environment env, String rule, int requests) {
+        String prefix = "quiz.rate-limits." + rule + ".";
+        return new SlidingWindowRateLimiter(
+                env.getProperty(prefix + "requests", Integer.class, requests),
+                env.getProperty(prefix + "window", Duration.class, Duration.ofMinutes(1)).toNanos(),
+                env.getProperty("quiz.rate-limits.max-keys", Integer.class, 100_000),
+                env.getProperty("quiz.rate-limits.stripes", Integer.class, 64));
+    }
+}
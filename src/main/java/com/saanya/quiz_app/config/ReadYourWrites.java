@@ -0,0 +1,73 @@
+package com.saanya.quiz_app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Read-your-writes for replica routing: after a user's own write, their reads go to
+ * the primary for {@code quiz.datasource.read-your-writes-window}, which should cover
+ * the replica's usual lag.
+ *
+ * Routing is decided when a transaction first touches the database, so the pin has to
+ * be in place before the first query of a read-only transaction. Without a replica
+ * configured this is all harmless bookkeeping.
+ */
+@Component
+public class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final Map<Long, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    private final long windowNanos;
+
+    public ReadYourWrites(@Value("${quiz.datasource.read-your-writes-window:5s}") Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    static boolean isPinnedToPrimary() {
+        return PINNED_TO_PRIMARY.get() != null;
+    }
+
+    public void recordWrite(Long userId) {
+        lastWriteByUser.put(userId, System.nanoTime());
+    }
+
+    /**
+     * Runs {@code read} against the primary if the user wrote within the window, otherwise as usual.
+     */
+    public <T> T forUser(Long userId, Supplier<T> read) {
+        Long lastWrite = lastWriteByUser.get(userId);
+        if (lastWrite != null && System.nanoTime() - lastWrite < windowNanos) {
+            return onPrimary(read);
+        }
+        return read.get();
+    }
+
+    /**
+     * Runs {@code read} against the primary, for reads that must not see replica lag.
+     */
+    public <T> T onPrimary(Supplier<T> read) {
+        if (isPinnedToPrimary()) {
+            return read.get();
+        }
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PINNED_TO_PRIMARY.remove();
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    void evictExpired() {
+        long now = System.nanoTime();
+        lastWriteByUser.values().removeIf(lastWrite -> now - lastWrite >= windowNanos);
+    }
+}
@@ -0,0 +1,22 @@
+package com.saanya.quiz_app.config;
+
+import com.saanya.quiz_app.room.RoomWebSocketHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    @Autowired
+    private RoomWebSocketHandler roomWebSocketHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(roomWebSocketHandler, "/ws/rooms")
+                .setAllowedOrigins("http://localhost:3000", "http://localhost:5173");
+    }
+}
@@ -0,0 +1,79 @@
+package com.saanya.quiz_app.controller;
+
+import com.saanya.quiz_app.bank.QuestionBankImporter;
+import com.saanya.quiz_app.dto.QuestionBankImportRequest;
+import com.saanya.quiz_app.dto.QuestionBankImportStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+
+/**
+ * Operator endpoints. Every call needs the {@code X-Admin-Token} header to equal
+ * {@code quiz.admin.token}; with no token configured they all answer 403.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    @Autowired
+    private QuestionBankImporter questionBankImporter;
+
+    @Value("${quiz.admin.token:}")
+    private String adminToken;
+
+    // Imports may only read files below this directory
+    @Value("${quiz.import.directory:imports}")
+    private Path importDirectory;
+
+    @PostMapping("/question-bank/import")
+    public ResponseEntity<QuestionBankImportStatus> startImport(
+            @RequestHeader(value = "X-Admin-Token", required = false) String token,
+            @Valid @RequestBody QuestionBankImportRequest request) {
+        if (!authorized(token)) {
+            return ResponseEntity.status(403).build();
+        }
+
+        Path file;
+        try {
+            Path root = importDirectory.toRealPath();
+            // Real paths, so neither ".." nor a symlink can leave the import directory
+            file = root.resolve(request.getFile()).toRealPath();
+            if (!file.startsWith(root) || !Files.isRegularFile(file)) {
+                return ResponseEntity.status(404).build();
+            }
+        } catch (IOException | InvalidPathException e) {
+            return ResponseEntity.status(404).build();
+        }
+
+        if (!questionBankImporter.startAsync(file)) {
+            return ResponseEntity.status(409).body(questionBankImporter.getStatus());
+        }
+        return ResponseEntity.status(202).body(questionBankImporter.getStatus());
+    }
+
+    @GetMapping("/question-bank/import")
+    public ResponseEntity<QuestionBankImportStatus> getImportStatus(
+            @RequestHeader(value = "X-Admin-Token", required = false) String token) {
+        if (!authorized(token)) {
+            return ResponseEntity.status(403).build();
+        }
+        return ResponseEntity.ok(questionBankImporter.getStatus());
+    }
+
+    private boolean authorized(String token) {
+        if (adminToken.isEmpty() || token == null) {
+            return false;
+        }
+        // Constant-time comparison
+        return MessageDigest.isEqual(adminToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+}
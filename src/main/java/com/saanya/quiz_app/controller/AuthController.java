@@ -1,5 +1,6 @@
 package com.saanya.quiz_app.controller;
 
+import com.saanya.quiz_app.concurrency.LoginBackoff;
 import com.saanya.quiz_app.dto.LoginRequest;
 import com.saanya.quiz_app.dto.RegisterRequest;
 import com.saanya.quiz_app.dto.UserResponse;
@@ -9,6 +10,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.Map;
 
@@ -32,10 +34,15 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request, HttpServletRequest servletRequest) {
         try {
-            UserResponse response = authService.login(request);
+            // Same client address as RateLimitFilter uses
+            UserResponse response = authService.login(request, servletRequest.getRemoteAddr());
             return ResponseEntity.ok(response);
+        } catch (LoginBackoff.TooManyAttemptsException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Retry-After", Long.toString(e.getRetryAfterSeconds()))
+                    .body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "Invalid username or password"));
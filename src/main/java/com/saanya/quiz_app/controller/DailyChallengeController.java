@@ -0,0 +1,60 @@
+package com.saanya.quiz_app.controller;
+
+import com.saanya.quiz_app.dto.DailyLeaderboardEntry;
+import com.saanya.quiz_app.dto.DailyResultResponse;
+import com.saanya.quiz_app.dto.DailySubmission;
+import com.saanya.quiz_app.service.DailyChallengeService;
+import com.saanya.quiz_app.service.DailyChallengeSnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/daily")
+@CrossOrigin(origins = "http://localhost:3000")
+public class DailyChallengeController {
+
+    @Autowired
+    private DailyChallengeService dailyChallengeService;
+
+    // Writes the snapshot's pre-serialized bytes as they are; unchanged ETags get a 304
+    @GetMapping("/{category}")
+    public ResponseEntity<byte[]> getChallenge(@PathVariable String category) {
+        Optional<DailyChallengeSnapshot.Entry> entry = dailyChallengeService.find(category);
+        if (entry.isEmpty()) {
+            return ResponseEntity.status(404).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(entry.get().etag())
+                .body(entry.get().body());
+    }
+
+    @PostMapping("/{category}/submit")
+    public ResponseEntity<DailyResultResponse> submit(@PathVariable String category,
+                                                      @Valid @RequestBody DailySubmission submission) {
+        try {
+            DailyResultResponse response = dailyChallengeService.submit(category, submission);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(400).build();
+        }
+    }
+
+    @GetMapping("/{category}/leaderboard")
+    public ResponseEntity<List<DailyLeaderboardEntry>> getLeaderboard(
+            @PathVariable String category,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<DailyLeaderboardEntry> leaderboard = dailyChallengeService.getLeaderboard(category, limit);
+            return ResponseEntity.ok(leaderboard);
+        } catch (Exception e) {
+            return ResponseEntity.status(500).build();
+        }
+    }
+}
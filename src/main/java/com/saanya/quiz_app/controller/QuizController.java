@@ -1,5 +1,6 @@
 package com.saanya.quiz_app.controller;
 
+import com.saanya.quiz_app.bank.QuestionBank;
 import com.saanya.quiz_app.dto.QuizRequest;
 import com.saanya.quiz_app.model.Question;
 import com.saanya.quiz_app.service.GeminiService;
@@ -8,6 +9,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/quiz")
@@ -17,6 +19,9 @@ public class QuizController {
     @Autowired
     private GeminiService geminiService;
 
+    @Autowired
+    private QuestionBank questionBank;
+
     @PostMapping("/generate")
     public ResponseEntity<Question> generateQuestion(@Valid @RequestBody QuizRequest request) {
         try {
@@ -26,4 +31,18 @@ public class QuizController {
             return ResponseEntity.status(500).build();
         }
     }
+
+    // Random curated question from the imported question bank
+    @PostMapping("/bank")
+    public ResponseEntity<Question> bankQuestion(@Valid @RequestBody QuizRequest request) {
+        try {
+            Optional<Question> question = questionBank.randomQuestion(request.getCategory());
+            if (question.isEmpty()) {
+                return ResponseEntity.status(404).build();
+            }
+            return ResponseEntity.ok(question.get());
+        } catch (Exception e) {
+            return ResponseEntity.status(500).build();
+        }
+    }
 }
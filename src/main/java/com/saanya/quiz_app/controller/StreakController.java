@@ -1,9 +1,12 @@
 package com.saanya.quiz_app.controller;
 
 import com.saanya.quiz_app.dto.LeaderboardEntry;
+import com.saanya.quiz_app.dto.StreakBatchRequest;
 import com.saanya.quiz_app.dto.StreakHistory;
 import com.saanya.quiz_app.dto.StreakRequest;
 import com.saanya.quiz_app.dto.StreakResponse;
+import com.saanya.quiz_app.service.IdempotencyStore;
+import com.saanya.quiz_app.service.IdempotentStreakService;
 import com.saanya.quiz_app.service.StreakService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -20,11 +23,30 @@ public class StreakController {
     @Autowired
     private StreakService streakService;
 
+    @Autowired
+    private IdempotentStreakService idempotentStreakService;
+
     @PostMapping("/save")
-    public ResponseEntity<StreakResponse> saveStreak(@Valid @RequestBody StreakRequest request) {
+    public ResponseEntity<StreakResponse> saveStreak(
+            @Valid @RequestBody StreakRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         try {
-            StreakResponse response = streakService.saveStreak(request);
+            StreakResponse response = idempotentStreakService.save(request, idempotencyKey);
             return ResponseEntity.ok(response);
+        } catch (IdempotencyStore.KeyReusedException e) {
+            return ResponseEntity.status(422).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(400).build();
+        }
+    }
+
+    @PostMapping("/save/batch")
+    public ResponseEntity<List<StreakResponse>> saveStreaks(@Valid @RequestBody StreakBatchRequest request) {
+        try {
+            List<StreakResponse> responses = idempotentStreakService.saveBatch(request.getStreaks());
+            return ResponseEntity.ok(responses);
+        } catch (IdempotencyStore.KeyReusedException e) {
+            return ResponseEntity.status(422).build();
         } catch (RuntimeException e) {
             return ResponseEntity.status(400).build();
         }
@@ -0,0 +1,13 @@
+package com.saanya.quiz_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyLeaderboardEntry {
+    private String username;
+    private Integer score;
+}
@@ -0,0 +1,18 @@
+package com.saanya.quiz_app.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyResultResponse {
+    private LocalDate date;
+    private String category;
+    private Integer score;
+    private Integer total;
+    private List<Integer> correctIndexes;
+}
@@ -0,0 +1,17 @@
+package com.saanya.quiz_app.dto;
+
+import lombok.Data;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+@Data
+public class DailySubmission {
+
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    // Chosen option per question, in question order
+    @NotEmpty(message = "Answers are required")
+    private List<@NotNull Integer> answers;
+}
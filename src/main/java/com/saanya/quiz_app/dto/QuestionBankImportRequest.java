@@ -0,0 +1,11 @@
+package com.saanya.quiz_app.dto;
+import lombok.Data;
+import jakarta.validation.constraints.NotBlank;
+
+@Data
+public class QuestionBankImportRequest {
+
+    // Relative to quiz.import.directory
+    @NotBlank(message = "File is required")
+    private String file;
+}
@@ -0,0 +1,14 @@
+package com.saanya.quiz_app.dto;
+
+import com.saanya.quiz_app.bank.ImportReport;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class QuestionBankImportStatus {
+    private boolean running;
+    private String file;
+    private LocalDateTime startedAt;
+    private ImportReport report;
+    private String error;
+}
@@ -0,0 +1,15 @@
+package com.saanya.quiz_app.dto;
+
+import lombok.Data;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@Data
+public class StreakBatchRequest {
+
+    @NotEmpty(message = "At least one streak is required")
+    @Size(max = 100, message = "At most 100 streaks per batch")
+    private List<@Valid StreakRequest> streaks;
+}
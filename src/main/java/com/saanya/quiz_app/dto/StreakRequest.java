@@ -3,6 +3,7 @@ package com.saanya.quiz_app.dto;
 import lombok.Data;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 @Data
 public class StreakRequest {
@@ -15,4 +16,8 @@ public class StreakRequest {
     private Integer streakCount;
 
     private String category;
+
+    // Optional; the Idempotency-Key header takes precedence for single saves
+    @Size(max = 64, message = "Idempotency key must be at most 64 characters")
+    private String idempotencyKey;
 }
@@ -0,0 +1,197 @@
+package com.saanya.quiz_app.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Application meters, exposed through {@code /actuator/prometheus}.
+ *
+ * Tag values are always drawn from small fixed sets: the request's {@code category}
+ * is client-supplied, so anything outside {@link #KNOWN_CATEGORIES} is reported as
+ * {@code other} rather than creating a new time series per value.
+ */
+@Component
+public class QuizMetrics {
+
+    public static final Set<String> KNOWN_CATEGORIES = Set.of(
+            "science", "history", "sports", "geography", "mathematics",
+            "entertainment", "literature", "technology", "technical"
+    );
+
+    private final MeterRegistry registry;
+
+    public QuizMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public static String categoryTag(String category) {
+        if (category == null) {
+            return "other";
+        }
+        String normalized = category.trim().toLowerCase(Locale.ROOT);
+        return KNOWN_CATEGORIES.contains(normalized) ? normalized : "other";
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    /** Whole generateQuestion call; outcome is "gemini" or "fallback" */
+    public void recordGenerate(Timer.Sample sample, String category, String outcome) {
+        sample.stop(Timer.builder("quiz.gemini.generate")
+                .description("Question generation including the mock fallback")
+                .tag("category", categoryTag(category))
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+
+    /** HTTP round trip to Gemini; outcome is "success" or "failure" */
+    public void recordGeminiCall(Timer.Sample sample, String category, String outcome) {
+        sample.stop(Timer.builder("quiz.gemini.call")
+                .description("Gemini generateContent round trip")
+                .tag("category", categoryTag(category))
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+
+    /** Parsing of the Gemini response; outcome is "success" or "failure" */
+    public void recordParse(Timer.Sample sample, String category, String outcome) {
+        sample.stop(Timer.builder("quiz.gemini.parse")
+                .description("Parsing of the Gemini response into a Question")
+                .tag("category", categoryTag(category))
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+
+    /** A mock question was served instead of a generated one; reason is one of {@link FallbackReason} */
+    public void recordFallback(String category, FallbackReason reason) {
+        Counter.builder("quiz.gemini.fallbacks")
+                .description("Mock questions served instead of Gemini output")
+                .tag("category", categoryTag(category))
+                .tag("reason", reason.tag())
+                .register(registry)
+                .increment();
+    }
+
+    /** BCrypt encode or matches; operation is "encode" or "matches" */
+    public <T> T timeBcrypt(String operation, Supplier<T> work) {
+        return Timer.builder("quiz.auth.bcrypt")
+                .description("BCrypt hashing and verification")
+                .tag("operation", operation)
+                .register(registry)
+                .record(work);
+    }
+
+    public <T> T timeStreakSave(Supplier<T> work) {
+        return Timer.builder("quiz.streaks.save")
+                .description("Saving a streak, including the personal-record update")
+                .register(registry)
+                .record(work);
+    }
+
+    public <T> T timeLeaderboardQuery(Supplier<T> work) {
+        return Timer.builder("quiz.streaks.leaderboard.query")
+                .description("Leaderboard database query")
+                .register(registry)
+                .record(work);
+    }
+
+    /** Current adaptive limit and in-flight requests of an endpoint group */
+    public void registerConcurrencyLimit(String group, IntSupplier limit, IntSupplier inflight) {
+        Gauge.builder("quiz.concurrency.limit", limit::getAsInt)
+                .description("Adaptive concurrency limit")
+                .tag("group", group)
+                .register(registry);
+        Gauge.builder("quiz.concurrency.inflight", inflight::getAsInt)
+                .description("Requests in flight")
+                .tag("group", group)
+                .register(registry);
+    }
+
+    public void recordConcurrencyRejection(String group) {
+        Counter.builder("quiz.concurrency.rejected")
+                .description("Requests rejected with 503 by the concurrency limiter")
+                .tag("group", group)
+                .register(registry)
+                .increment();
+    }
+
+    public void recordRateLimitRejection(String rule) {
+        Counter.builder("quiz.ratelimit.rejected")
+                .description("Requests rejected with 429 by the per-IP rate limiter")
+                .tag("rule", rule)
+                .register(registry)
+                .increment();
+    }
+
+    public void recordLoginBackoff() {
+        Counter.builder("quiz.auth.login.backoff")
+                .description("Login attempts refused because of earlier failures")
+                .register(registry)
+                .increment();
+    }
+
+    /** Records processed by a question bank import, by outcome */
+    public void recordQuestionBankImport(long inserted, long duplicates, long invalid) {
+        bankImportCounter("inserted").increment(inserted);
+        bankImportCounter("duplicate").increment(duplicates);
+        bankImportCounter("invalid").increment(invalid);
+    }
+
+    private Counter bankImportCounter(String outcome) {
+        return Counter.builder("quiz.bank.import.records")
+                .description("Question bank records processed by imports")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /** Time from writing a change event on any instance to applying it on this one */
+    public void recordChangeEventLag(Duration lag) {
+        Timer.builder("quiz.outbox.lag")
+                .description("Change event propagation lag")
+                .register(registry)
+                .record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
+    /** Event ids skipped by the poller and still waiting for their transaction to commit */
+    public void registerChangeEventGaps(IntSupplier gaps) {
+        Gauge.builder("quiz.outbox.gaps", gaps::getAsInt)
+                .description("Change event ids awaiting a late commit")
+                .register(registry);
+    }
+
+    public void recordChangeEventGapExpired() {
+        Counter.builder("quiz.outbox.gaps.expired")
+                .description("Skipped change event ids given up on (rolled back, or committed too late)")
+                .register(registry)
+                .increment();
+    }
+
+    public enum FallbackReason {
+        NO_API_KEY("no_api_key"),
+        HTTP_4XX("http_4xx"),
+        HTTP_5XX("http_5xx"),
+        TRANSPORT("transport"),
+        FILTERED("filtered"),
+        PARSE("parse");
+
+        private final String tag;
+
+        FallbackReason(String tag) {
+            this.tag = tag;
+        }
+
+        public String tag() {
+            return tag;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.saanya.quiz_app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "change_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEvent {
+
+    public enum Type {
+        // A user was created or their highest streak changed; carries the user's current state
+        USER_UPDATED,
+        // Rows were added to question_bank
+        QUESTION_BANK_CHANGED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Plain VARCHAR on every database (Hibernate would use a native enum type on H2)
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "event_type", nullable = false, length = 30)
+    private Type eventType;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(length = 50)
+    private String username;
+
+    @Column(name = "highest_streak")
+    private Integer highestStreak;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,37 @@
+package com.saanya.quiz_app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "daily_challenges")
+@IdClass(DailyChallengeId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyChallenge {
+
+    @Id
+    @Column(name = "challenge_date")
+    private LocalDate challengeDate;
+
+    @Id
+    @Column(length = 50)
+    private String category;
+
+    // JSON array of Question, including correctIndex
+    @Column(nullable = false)
+    private String questions;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
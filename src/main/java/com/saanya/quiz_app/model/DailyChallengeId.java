@@ -0,0 +1,16 @@
+package com.saanya.quiz_app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyChallengeId implements Serializable {
+    private LocalDate challengeDate;
+    private String category;
+}
@@ -27,7 +27,7 @@ public class Streak {
     @Column(length = 50)
     private String category;
 
-    @Column(name = "played_at")
+    @Column(name = "played_at", nullable = false)
     private LocalDateTime playedAt;
 
     @PrePersist
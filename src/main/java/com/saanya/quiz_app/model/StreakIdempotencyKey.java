@@ -0,0 +1,43 @@
+package com.saanya.quiz_app.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "streak_idempotency_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreakIdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "is_new_record", nullable = false)
+    private Boolean isNewRecord;
+
+    @Column(name = "current_streak", nullable = false)
+    private Integer currentStreak;
+
+    @Column(name = "highest_streak", nullable = false)
+    private Integer highestStreak;
+
+    // SHA-256 of the request, to reject a key reused with a different body
+    @Column(name = "request_hash", length = 64)
+    private String requestHash;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,18 @@
+package com.saanya.quiz_app.outbox;
+
+import com.saanya.quiz_app.model.ChangeEvent;
+
+import java.util.List;
+
+/**
+ * In-memory state kept current by change events. Implementations must be thread-safe and
+ * must tolerate an event arriving twice or after a later one (a gap filled late), which
+ * state-carrying events make easy: merge, don't increment.
+ */
+public interface ChangeEventHandler {
+
+    /**
+     * @param events in ascending id order
+     */
+    void apply(List<ChangeEvent> events);
+}
@@ -0,0 +1,190 @@
+package com.saanya.quiz_app.outbox;
+
+import com.saanya.quiz_app.config.ReadYourWrites;
+import com.saanya.quiz_app.metrics.QuizMetrics;
+import com.saanya.quiz_app.model.ChangeEvent;
+import com.saanya.quiz_app.repository.ChangeEventRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tails the {@code change_events} outbox and hands new events to every
+ * {@link ChangeEventHandler}, in id order and in batches.
+ *
+ * Ids are assigned at insert but become visible at commit, so a poll can see id 12 while
+ * 11 is still in flight. Skipped ids are remembered as gaps and looked up again on every
+ * poll until they show up or {@code quiz.outbox.gap-timeout} passes (rolled-back
+ * transactions leave permanent gaps). A late event is therefore applied after newer ones,
+ * which handlers tolerate by merging state instead of replacing it.
+ *
+ * Runs on its own thread so long scheduled jobs cannot delay it, and always reads the
+ * primary, since a replica would add its own lag.
+ */
+@Component
+@ConditionalOnProperty(name = "quiz.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class ChangeEventPoller {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeEventPoller.class);
+
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private List<ChangeEventHandler> handlers;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Autowired
+    private QuizMetrics metrics;
+
+    @Value("${quiz.outbox.poll-interval:200ms}")
+    private Duration pollInterval;
+
+    @Value("${quiz.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${quiz.outbox.gap-timeout:30s}")
+    private Duration gapTimeout;
+
+    @Value("${quiz.outbox.max-gaps:1000}")
+    private int maxGaps;
+
+    // Events re-read at startup, covering writes that committed while the caches were loading
+    @Value("${quiz.outbox.startup-replay:1000}")
+    private int startupReplay;
+
+    private ScheduledExecutorService executor;
+
+    // Guarded by this
+    private long lastId;
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        lastId = Math.max(0, readYourWrites.onPrimary(changeEventRepository::findMaxId) - startupReplay);
+        metrics.registerChangeEventGaps(this::pendingGaps);
+
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-event-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::pollSafely, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    synchronized int pendingGaps() {
+        return gaps.size();
+    }
+
+    private void pollSafely() {
+        try {
+            // Keep going while full batches come back, to catch up after a burst
+            while (poll() == batchSize) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Polling change events failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Applies late events for known gaps and the next batch of new events.
+     *
+     * @return the number of new events read
+     */
+    synchronized int poll() {
+        List<ChangeEvent> events = new ArrayList<>();
+
+        if (!gaps.isEmpty()) {
+            expireGaps(System.nanoTime());
+            List<Long> missing = new ArrayList<>(gaps.keySet());
+            if (!missing.isEmpty()) {
+                List<ChangeEvent> late = readYourWrites.onPrimary(
+                        () -> changeEventRepository.findByIdInOrderByIdAsc(missing));
+                for (ChangeEvent event : late) {
+                    gaps.remove(event.getId());
+                }
+                events.addAll(late);
+            }
+        }
+
+        long after = lastId;
+        List<ChangeEvent> fresh = readYourWrites.onPrimary(
+                () -> changeEventRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, batchSize)));
+        long deadline = System.nanoTime() + gapTimeout.toNanos();
+        for (ChangeEvent event : fresh) {
+            // Only the most recent maxGaps ids of a large jump are worth waiting for
+            for (long id = Math.max(lastId + 1, event.getId() - maxGaps); id < event.getId(); id++) {
+                trackGap(id, deadline);
+            }
+            lastId = event.getId();
+        }
+        events.addAll(fresh);
+
+        if (events.isEmpty()) {
+            return 0;
+        }
+        events.sort(Comparator.comparing(ChangeEvent::getId));
+        for (ChangeEventHandler handler : handlers) {
+            handler.apply(events);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (ChangeEvent event : events) {
+            metrics.recordChangeEventLag(Duration.between(event.getCreatedAt(), now));
+        }
+        return fresh.size();
+    }
+
+    private void trackGap(long id, long deadline) {
+        if (gaps.size() >= maxGaps) {
+            // Oldest first: LinkedHashMap keeps insertion order
+            gaps.remove(gaps.keySet().iterator().next());
+            metrics.recordChangeEventGapExpired();
+        }
+        gaps.put(id, deadline);
+    }
+
+    private void expireGaps(long now) {
+        Iterator<Map.Entry<Long, Long>> iterator = gaps.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Long> gap = iterator.next();
+            if (now - gap.getValue() < 0) {
+                // Deadlines only grow in insertion order
+                return;
+            }
+            iterator.remove();
+            metrics.recordChangeEventGapExpired();
+        }
+    }
+}
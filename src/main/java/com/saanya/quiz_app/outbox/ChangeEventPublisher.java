@@ -0,0 +1,83 @@
+package com.saanya.quiz_app.outbox;
+
+import com.saanya.quiz_app.model.ChangeEvent;
+import com.saanya.quiz_app.model.User;
+import com.saanya.quiz_app.repository.ChangeEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes change events into the {@code change_events} outbox as part of the caller's
+ * transaction, so an event exists exactly when the change it describes was committed.
+ * Other instances pick it up through their {@link ChangeEventPoller}; this instance
+ * applies it right after commit, so its own caches never lag behind its own writes.
+ */
+@Component
+public class ChangeEventPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeEventPublisher.class);
+
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private List<ChangeEventHandler> handlers;
+
+    @Value("${quiz.outbox.retention:1h}")
+    private Duration retention;
+
+    /**
+     * Records the user's current username and highest streak. Must run inside the
+     * transaction that changed them.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void userUpdated(User user) {
+        ChangeEvent event = new ChangeEvent();
+        event.setEventType(ChangeEvent.Type.USER_UPDATED);
+        event.setUserId(user.getId());
+        event.setUsername(user.getUsername());
+        event.setHighestStreak(user.getHighestStreak());
+        publish(event);
+    }
+
+    // Imports commit batch by batch, so this gets its own transaction once the import is done
+    @Transactional
+    public void questionBankChanged() {
+        ChangeEvent event = new ChangeEvent();
+        event.setEventType(ChangeEvent.Type.QUESTION_BANK_CHANGED);
+        publish(event);
+    }
+
+    @Scheduled(cron = "${quiz.outbox.cleanup-cron:0 45 * * * *}")
+    public void deleteExpiredEvents() {
+        int deleted = changeEventRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            logger.info("Deleted {} change events older than {}", deleted, retention);
+        }
+    }
+
+    private void publish(ChangeEvent event) {
+        changeEventRepository.save(event);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                List<ChangeEvent> events = List.of(event);
+                for (ChangeEventHandler handler : handlers) {
+                    handler.apply(events);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,32 @@
+package com.saanya.quiz_app.repository;
+
+import com.saanya.quiz_app.model.ChangeEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+
+    List<ChangeEvent> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Re-checks ids skipped earlier because their transaction had not committed yet
+    List<ChangeEvent> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM ChangeEvent e")
+    long findMaxId();
+
+    // Events only need to outlive the slowest poller
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ChangeEvent e WHERE e.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,27 @@
+package com.saanya.quiz_app.repository;
+
+import com.saanya.quiz_app.model.DailyChallenge;
+import com.saanya.quiz_app.model.DailyChallengeId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyChallengeRepository extends JpaRepository<DailyChallenge, DailyChallengeId> {
+
+    List<DailyChallenge> findByChallengeDate(LocalDate challengeDate);
+
+    // The first stored set wins: a concurrent generator's insert does nothing and returns 0
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO daily_challenges (challenge_date, category, questions, created_at) "
+            + "VALUES (:date, :category, :questions, CURRENT_TIMESTAMP) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("date") LocalDate date, @Param("category") String category,
+                       @Param("questions") String questions);
+}
@@ -0,0 +1,26 @@
+package com.saanya.quiz_app.repository;
+
+import com.saanya.quiz_app.model.DailyResult;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DailyResultRepository extends JpaRepository<DailyResult, Long> {
+
+    Optional<DailyResult> findByChallengeDateAndCategoryAndUserId(LocalDate challengeDate, String category, Long userId);
+
+    // Served by idx_daily_results_leaderboard; ties go to whoever submitted first
+    @Query("SELECT r FROM DailyResult r JOIN FETCH r.user " +
+            "WHERE r.challengeDate = :date AND r.category = :category " +
+            "ORDER BY r.score DESC, r.submittedAt ASC")
+    List<DailyResult> findLeaderboard(@Param("date") LocalDate date,
+                                      @Param("category") String category,
+                                      Pageable pageable);
+}
@@ -0,0 +1,31 @@
+package com.saanya.quiz_app.repository;
+
+import com.saanya.quiz_app.model.StreakIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface StreakIdempotencyKeyRepository extends JpaRepository<StreakIdempotencyKey, String> {
+
+    // A plain insert, never a merge: returns 0 if the key is already stored. Joins the
+    // caller's transaction, so the streak saved with it rolls back too.
+    @Modifying
+    @Query(value = "INSERT INTO streak_idempotency_keys (idempotency_key, user_id, is_new_record, current_streak, "
+            + "highest_streak, request_hash, created_at) VALUES (:key, :userId, :isNewRecord, :currentStreak, "
+            + ":highestStreak, :requestHash, CURRENT_TIMESTAMP) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("key") String key, @Param("userId") Long userId,
+                       @Param("isNewRecord") boolean isNewRecord, @Param("currentStreak") int currentStreak,
+                       @Param("highestStreak") int highestStreak, @Param("requestHash") String requestHash);
+
+    // Keys only need to outlive client retries
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM StreakIdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,6 +1,7 @@
 package com.saanya.quiz_app.repository;
 
 import com.saanya.quiz_app.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -21,4 +22,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u ORDER BY u.highestStreak DESC")
     List<User> findTopUsers();
     // Custom query for leaderboard
+
+    @Query("SELECT u FROM User u ORDER BY u.highestStreak DESC, u.id ASC")
+    List<User> findTopUsers(Pageable pageable);
+    // Top page only, with ties in a stable order; loads the leaderboard cache
 }
@@ -0,0 +1,291 @@
+package com.saanya.quiz_app.room;
+
+import com.saanya.quiz_app.model.Question;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One multiplayer game: players join while the room is waiting, the host starts it,
+ * and every player gets the same questions at the same moment.
+ *
+ * All methods run on the room's {@link RoomShard} thread. Answers are timed against
+ * the moment the question was sent, using the arrival time taken on the I/O thread,
+ * so time spent queued on the shard does not count against the player.
+ */
+class QuizRoom {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuizRoom.class);
+
+    enum Phase { WAITING, GENERATING, PLAYING, FINISHED }
+
+    final String id;
+    // Room ids are short and reused once a room is gone; this one is unique to the game
+    final String instanceId = UUID.randomUUID().toString();
+    final String category;
+    final int rounds;
+    final RoomShard shard;
+
+    String hostSessionId;
+
+    private final RoomRegistry registry;
+    private final Map<String, RoomPlayer> players = new LinkedHashMap<>();
+
+    private Phase phase = Phase.WAITING;
+    private List<Question> questions;
+    private int current = -1;
+    private boolean roundOpen;
+    private long questionSentAt;
+    private int answered;
+    private ScheduledFuture<?> timer;
+
+    QuizRoom(String id, String category, int rounds, RoomShard shard, RoomRegistry registry) {
+        this.id = id;
+        this.category = category;
+        this.rounds = rounds;
+        this.shard = shard;
+        this.registry = registry;
+        this.timer = shard.schedule(this::expireIfWaiting, registry.idleTimeoutMillis);
+    }
+
+    Collection<RoomPlayer> players() {
+        return players.values();
+    }
+
+    boolean join(RoomPlayer player) {
+        if (phase != Phase.WAITING) {
+            send(player, registry.messages.error(id, "Game already started"));
+            return false;
+        }
+        if (connectedCount() >= registry.maxPlayers) {
+            send(player, registry.messages.error(id, "Room is full"));
+            return false;
+        }
+        if (hostSessionId == null) {
+            hostSessionId = player.sessionId();
+        }
+        players.put(player.sessionId(), player);
+        send(player, registry.messages.joined(this, player));
+        broadcast(registry.messages.players(this));
+        return true;
+    }
+
+    void start(String sessionId) {
+        if (!sessionId.equals(hostSessionId)) {
+            send(players.get(sessionId), registry.messages.error(id, "Only the host can start the game"));
+            return;
+        }
+        if (phase != Phase.WAITING) {
+            return;
+        }
+        phase = Phase.GENERATING;
+        cancelTimer();
+        broadcast(registry.messages.starting(this));
+        registry.generate(this);
+    }
+
+    void begin(List<Question> generated) {
+        if (phase != Phase.GENERATING) {
+            // Everyone left while the questions were being generated
+            return;
+        }
+        questions = generated;
+        phase = Phase.PLAYING;
+        nextQuestion();
+    }
+
+    void generationRejected() {
+        // Back to waiting, so the host can start again once the load eases
+        if (phase == Phase.GENERATING) {
+            phase = Phase.WAITING;
+            timer = shard.schedule(this::expireIfWaiting, registry.idleTimeoutMillis);
+            broadcast(registry.messages.error(id, "Server is busy, please start again shortly"));
+        }
+    }
+
+    int questionCount() {
+        // Can be below rounds when repeated questions had to be dropped
+        return questions == null ? rounds : questions.size();
+    }
+
+    void generationFailed() {
+        if (phase == Phase.GENERATING) {
+            broadcast(registry.messages.error(id, "Could not generate questions"));
+            close();
+        }
+    }
+
+    void answer(String sessionId, int index, int choice, long receivedAt) {
+        RoomPlayer player = players.get(sessionId);
+        // Late, duplicate and stale answers are dropped; a missing answer counts as a miss
+        if (player == null || !roundOpen || index != current || player.choice != null) {
+            return;
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(receivedAt - questionSentAt);
+        if (elapsedMillis > registry.questionTimeLimitMillis) {
+            return;
+        }
+        if (choice < 0 || choice >= questions.get(current).getOptions().size()) {
+            send(player, registry.messages.error(id, "Invalid choice"));
+            return;
+        }
+        player.choice = choice;
+        player.answerMillis = elapsedMillis;
+        answered++;
+
+        if (answered >= connectedCount()) {
+            cancelTimer();
+            closeRound();
+        }
+    }
+
+    void leave(String sessionId) {
+        RoomPlayer player = players.get(sessionId);
+        if (player == null || !player.connected) {
+            return;
+        }
+        player.connected = false;
+        if (phase == Phase.WAITING || phase == Phase.GENERATING) {
+            players.remove(sessionId);
+        }
+
+        if (connectedCount() == 0) {
+            if (phase == Phase.PLAYING) {
+                finish();
+            } else {
+                close();
+            }
+            return;
+        }
+        if (sessionId.equals(hostSessionId)) {
+            hostSessionId = players.values().stream()
+                    .filter(p -> p.connected)
+                    .findFirst()
+                    .map(RoomPlayer::sessionId)
+                    .orElse(null);
+        }
+        broadcast(registry.messages.players(this));
+
+        if (roundOpen && answered >= connectedCount()) {
+            cancelTimer();
+            closeRound();
+        }
+    }
+
+    private void nextQuestion() {
+        current++;
+        if (current >= questions.size()) {
+            finish();
+            return;
+        }
+        for (RoomPlayer player : players.values()) {
+            player.choice = null;
+        }
+        answered = 0;
+        roundOpen = true;
+
+        TextMessage message = registry.messages.question(
+                this, current, questions.get(current), registry.questionTimeLimitMillis);
+        questionSentAt = System.nanoTime();
+        broadcast(message);
+        timer = shard.schedule(this::closeRound, registry.questionTimeLimitMillis);
+    }
+
+    private void closeRound() {
+        if (!roundOpen) {
+            return;
+        }
+        roundOpen = false;
+
+        Question question = questions.get(current);
+        for (RoomPlayer player : players.values()) {
+            if (player.choice != null && player.choice.equals(question.getCorrectIndex())) {
+                player.correct++;
+                player.totalAnswerMillis += player.answerMillis;
+                if (!player.streakBroken) {
+                    player.streak++;
+                }
+            } else {
+                player.streakBroken = true;
+            }
+        }
+        broadcast(registry.messages.result(this, current, question));
+        timer = shard.schedule(this::nextQuestion, registry.resultPauseMillis);
+    }
+
+    private void finish() {
+        phase = Phase.FINISHED;
+        roundOpen = false;
+        cancelTimer();
+
+        List<RoomPlayer> standings = new ArrayList<>(players.values());
+        standings.sort(Comparator.comparingInt((RoomPlayer p) -> p.correct).reversed()
+                .thenComparingLong(p -> p.totalAnswerMillis));
+        broadcast(registry.messages.finished(this, standings));
+        registry.finished(this, standings);
+    }
+
+    private void expireIfWaiting() {
+        if (phase == Phase.WAITING) {
+            broadcast(registry.messages.error(id, "Room expired before the game started"));
+            close();
+        }
+    }
+
+    private void close() {
+        phase = Phase.FINISHED;
+        roundOpen = false;
+        cancelTimer();
+        registry.remove(this);
+    }
+
+    private void cancelTimer() {
+        if (timer != null) {
+            timer.cancel(false);
+            timer = null;
+        }
+    }
+
+    private int connectedCount() {
+        int count = 0;
+        for (RoomPlayer player : players.values()) {
+            if (player.connected) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void broadcast(TextMessage message) {
+        for (RoomPlayer player : players.values()) {
+            send(player, message);
+        }
+    }
+
+    private static void send(RoomPlayer player, TextMessage message) {
+        if (player != null && player.connected) {
+            send(player.session, message);
+        }
+    }
+
+    static void send(WebSocketSession session, TextMessage message) {
+        try {
+            session.sendMessage(message);
+        } catch (IOException | RuntimeException e) {
+            // Slow or dead clients are closed by the session decorator and then leave the room
+            logger.debug("Could not send to session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+}
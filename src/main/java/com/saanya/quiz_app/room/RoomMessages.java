@@ -0,0 +1,114 @@
+package com.saanya.quiz_app.room;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.saanya.quiz_app.model.Question;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.List;
+
+/**
+ * Server-to-client messages of the room protocol. Each message is serialized once and
+ * the same {@link TextMessage} is sent to every member.
+ */
+class RoomMessages {
+
+    private final ObjectMapper objectMapper;
+
+    RoomMessages(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    TextMessage joined(QuizRoom room, RoomPlayer player) {
+        ObjectNode message = message("joined", room.id);
+        message.put("username", player.username);
+        message.put("category", room.category);
+        message.put("rounds", room.rounds);
+        return text(message);
+    }
+
+    TextMessage players(QuizRoom room) {
+        ObjectNode message = message("players", room.id);
+        ArrayNode players = message.putArray("players");
+        for (RoomPlayer player : room.players()) {
+            if (player.connected) {
+                players.addObject()
+                        .put("username", player.username)
+                        .put("host", player.sessionId().equals(room.hostSessionId));
+            }
+        }
+        return text(message);
+    }
+
+    TextMessage starting(QuizRoom room) {
+        return text(message("starting", room.id));
+    }
+
+    TextMessage question(QuizRoom room, int index, Question question, long timeLimitMillis) {
+        // correctIndex is only revealed in the round result
+        ObjectNode message = message("question", room.id);
+        message.put("index", index);
+        message.put("total", room.questionCount());
+        message.put("question", question.getQuestion());
+        ArrayNode options = message.putArray("options");
+        question.getOptions().forEach(options::add);
+        message.put("timeLimitMs", timeLimitMillis);
+        return text(message);
+    }
+
+    TextMessage result(QuizRoom room, int index, Question question) {
+        ObjectNode message = message("result", room.id);
+        message.put("index", index);
+        message.put("correctIndex", question.getCorrectIndex());
+        ArrayNode players = message.putArray("players");
+        for (RoomPlayer player : room.players()) {
+            ObjectNode entry = players.addObject()
+                    .put("username", player.username)
+                    .put("correct", player.choice != null && player.choice.equals(question.getCorrectIndex()))
+                    .put("streak", player.streak)
+                    .put("score", player.correct);
+            if (player.choice != null) {
+                entry.put("choice", player.choice).put("answerMs", player.answerMillis);
+            }
+        }
+        return text(message);
+    }
+
+    TextMessage finished(QuizRoom room, List<RoomPlayer> standings) {
+        ObjectNode message = message("finished", room.id);
+        ArrayNode players = message.putArray("standings");
+        for (RoomPlayer player : standings) {
+            players.addObject()
+                    .put("username", player.username)
+                    .put("score", player.correct)
+                    .put("streak", player.streak)
+                    .put("totalAnswerMs", player.totalAnswerMillis);
+        }
+        return text(message);
+    }
+
+    TextMessage error(String roomId, String error) {
+        ObjectNode message = message("error", roomId);
+        message.put("message", error);
+        return text(message);
+    }
+
+    private ObjectNode message(String type, String roomId) {
+        ObjectNode message = objectMapper.createObjectNode();
+        message.put("type", type);
+        if (roomId != null) {
+            message.put("roomId", roomId);
+        }
+        return message;
+    }
+
+    private TextMessage text(ObjectNode message) {
+        try {
+            return new TextMessage(objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize room message", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.saanya.quiz_app.room;
+
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * A member of a {@link QuizRoom}. Only touched on the room's shard thread.
+ */
+class RoomPlayer {
+
+    final WebSocketSession session;
+    final Long userId;
+    final String username;
+
+    boolean connected = true;
+
+    // Correct answers before the first wrong or missed one, like a solo game
+    int streak;
+    boolean streakBroken;
+    int correct;
+    long totalAnswerMillis;
+
+    // Current round; choice is null until the player answers
+    Integer choice;
+    long answerMillis;
+
+    RoomPlayer(WebSocketSession session, Long userId, String username) {
+        this.session = session;
+        this.userId = userId;
+        this.username = username;
+    }
+
+    String sessionId() {
+        return session.getId();
+    }
+}
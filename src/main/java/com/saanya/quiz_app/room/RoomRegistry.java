@@ -0,0 +1,328 @@
+package com.saanya.quiz_app.room;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saanya.quiz_app.bank.QuestionBank;
+import com.saanya.quiz_app.concurrency.AdaptiveLimit;
+import com.saanya.quiz_app.concurrency.SlidingWindowRateLimiter;
+import com.saanya.quiz_app.dto.StreakRequest;
+import com.saanya.quiz_app.metrics.QuizMetrics;
+import com.saanya.quiz_app.model.Question;
+import com.saanya.quiz_app.service.GeminiService;
+import com.saanya.quiz_app.service.IdempotentStreakService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Live multiplayer rooms, spread over {@link RoomShard}s by room id.
+ *
+ * Each shard has its own thread and room map, so rooms on different shards never share
+ * a lock. Question generation and streak persistence block, so they run on a separate
+ * worker pool and hand their results back to the room's shard.
+ *
+ * A room asks Gemini for one question per round, so it is held to the same limits as
+ * {@code POST /api/quiz/generate}: creating it counts its rounds against the client IP's
+ * {@code generate} rate limit, and generating takes that many slots of the
+ * {@code generate} concurrency limit.
+ */
+@Component
+public class RoomRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomRegistry.class);
+
+    private static final char[] ID_CHARS = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789".toCharArray();
+
+    @Autowired
+    private GeminiService geminiService;
+
+    @Autowired
+    private IdempotentStreakService idempotentStreakService;
+
+    @Autowired
+    private QuestionBank questionBank;
+
+    @Autowired
+    private QuizMetrics metrics;
+
+    @Autowired
+    @Qualifier("generateRateLimiter")
+    private SlidingWindowRateLimiter generateRateLimiter;
+
+    @Value("${quiz.rate-limits.enabled:true}")
+    private boolean rateLimitsEnabled;
+
+    // Absent when quiz.limits.enabled is off
+    @Autowired(required = false)
+    @Qualifier("generateConcurrencyLimit")
+    private AdaptiveLimit generateLimit;
+
+    final RoomMessages messages;
+    final int maxPlayers;
+    final int maxRounds;
+    final long questionTimeLimitMillis;
+    final long resultPauseMillis;
+    final long idleTimeoutMillis;
+
+    private final RoomShard[] shards;
+    private final ExecutorService workers;
+
+    // Which room each session is in; a session is in at most one room
+    private final Map<String, String> roomBySession = new ConcurrentHashMap<>();
+
+    public RoomRegistry(ObjectMapper objectMapper,
+                        @Value("${quiz.rooms.shards:0}") int shardCount,
+                        @Value("${quiz.rooms.workers:16}") int workerCount,
+                        @Value("${quiz.rooms.max-players:8}") int maxPlayers,
+                        @Value("${quiz.rooms.max-rounds:20}") int maxRounds,
+                        @Value("${quiz.rooms.question-time-limit-ms:15000}") long questionTimeLimitMillis,
+                        @Value("${quiz.rooms.result-pause-ms:3000}") long resultPauseMillis,
+                        @Value("${quiz.rooms.idle-timeout-ms:600000}") long idleTimeoutMillis) {
+        this.messages = new RoomMessages(objectMapper);
+        this.maxPlayers = maxPlayers;
+        this.maxRounds = maxRounds;
+        this.questionTimeLimitMillis = questionTimeLimitMillis;
+        this.resultPauseMillis = resultPauseMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+
+        // 0 means one shard per core
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        this.shards = new RoomShard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new RoomShard(i);
+        }
+
+        AtomicInteger workerIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, task -> {
+            Thread thread = new Thread(task, "room-worker-" + workerIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void create(WebSocketSession session, Long userId, String username, String category, int rounds) {
+        if (rounds < 1 || rounds > maxRounds) {
+            QuizRoom.send(session, messages.error(null, "Rounds must be between 1 and " + maxRounds));
+            return;
+        }
+        if (rateLimitsEnabled && generateRateLimiter.tryAcquire(clientAddress(session), rounds) > 0) {
+            metrics.recordRateLimitRejection("generate");
+            QuizRoom.send(session, messages.error(null, "Too many requests, please retry later"));
+            return;
+        }
+        String roomId = newRoomId();
+        if (!claimSession(session, roomId)) {
+            return;
+        }
+        RoomShard shard = shardFor(roomId);
+        shard.execute(() -> {
+            if (shard.rooms.containsKey(roomId)) {
+                release(session, roomId, "Could not create room, please try again");
+                return;
+            }
+            QuizRoom room = new QuizRoom(roomId, category, rounds, shard, this);
+            shard.rooms.put(roomId, room);
+            room.join(new RoomPlayer(session, userId, username));
+        });
+    }
+
+    public void join(WebSocketSession session, Long userId, String username, String roomId) {
+        if (!claimSession(session, roomId)) {
+            return;
+        }
+        RoomShard shard = shardFor(roomId);
+        shard.execute(() -> {
+            QuizRoom room = shard.rooms.get(roomId);
+            if (room == null) {
+                release(session, roomId, "Room not found");
+            } else if (!room.join(new RoomPlayer(session, userId, username))) {
+                roomBySession.remove(session.getId(), roomId);
+            }
+        });
+    }
+
+    public void start(String sessionId) {
+        dispatch(sessionId, room -> room.start(sessionId));
+    }
+
+    public void answer(String sessionId, int index, int choice, long receivedAt) {
+        dispatch(sessionId, room -> room.answer(sessionId, index, choice, receivedAt));
+    }
+
+    public void leave(String sessionId) {
+        String roomId = roomBySession.remove(sessionId);
+        if (roomId != null) {
+            RoomShard shard = shardFor(roomId);
+            shard.execute(() -> {
+                QuizRoom room = shard.rooms.get(roomId);
+                if (room != null) {
+                    room.leave(sessionId);
+                }
+            });
+        }
+    }
+
+    void generate(QuizRoom room) {
+        if (generateLimit != null && !generateLimit.tryAcquire(room.rounds)) {
+            metrics.recordConcurrencyRejection("generate");
+            room.generationRejected();
+            return;
+        }
+        List<CompletableFuture<Question>> futures = new ArrayList<>(room.rounds);
+        for (int i = 0; i < room.rounds; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                try {
+                    return geminiService.generateQuestion(room.category);
+                } finally {
+                    if (generateLimit != null) {
+                        // Gemini failures fall back to a mock question, so never a drop, like the HTTP endpoint
+                        generateLimit.release(start, false);
+                    }
+                }
+            }, workers));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        logger.warn("Question generation failed for room {}", room.id, error);
+                        room.shard.execute(room::generationFailed);
+                        return;
+                    }
+                    List<Question> questions = withoutRepeats(room,
+                            futures.stream().map(CompletableFuture::join).toList());
+                    room.shard.execute(() -> room.begin(questions));
+                });
+    }
+
+    /**
+     * Gemini's fallback is one fixed question per category, so an outage would otherwise ask
+     * the same question every round. Repeats are replaced from the question bank where it has
+     * the category, and dropped otherwise; the game is then shorter.
+     */
+    List<Question> withoutRepeats(QuizRoom room, List<Question> generated) {
+        Set<String> seen = new HashSet<>();
+        List<Question> questions = new ArrayList<>(generated.size());
+        for (Question question : generated) {
+            if (seen.add(question.getQuestion())) {
+                questions.add(question);
+            }
+        }
+        try {
+            // A few extra tries, since random picks can repeat too
+            for (int tries = 2 * (generated.size() - questions.size()); tries > 0
+                    && questions.size() < generated.size(); tries--) {
+                Optional<Question> question = questionBank.randomQuestion(room.category);
+                if (question.isEmpty()) {
+                    break;
+                }
+                if (seen.add(question.get().getQuestion())) {
+                    questions.add(question.get());
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not replace repeated questions for room {}: {}", room.id, e.getMessage());
+        }
+        return questions;
+    }
+
+    void finished(QuizRoom room, List<RoomPlayer> standings) {
+        remove(room);
+        workers.execute(() -> {
+            for (RoomPlayer player : standings) {
+                StreakRequest request = new StreakRequest();
+                request.setUserId(player.userId);
+                request.setStreakCount(player.streak);
+                request.setCategory(room.category);
+                // Keyed by game, so each player's result is stored at most once; the room id alone
+                // can come back within the key retention and would drop the later game's results
+                request.setIdempotencyKey("room-" + room.id + "-" + room.instanceId);
+                try {
+                    idempotentStreakService.save(request, null);
+                } catch (RuntimeException e) {
+                    logger.warn("Could not save streak of user {} in room {}: {}", player.userId, room.id, e.getMessage());
+                }
+            }
+        });
+    }
+
+    void remove(QuizRoom room) {
+        room.shard.rooms.remove(room.id);
+        for (RoomPlayer player : room.players()) {
+            roomBySession.remove(player.sessionId(), room.id);
+        }
+    }
+
+    private void dispatch(String sessionId, Consumer<QuizRoom> action) {
+        String roomId = roomBySession.get(sessionId);
+        if (roomId == null) {
+            return;
+        }
+        RoomShard shard = shardFor(roomId);
+        shard.execute(() -> {
+            QuizRoom room = shard.rooms.get(roomId);
+            if (room != null) {
+                action.accept(room);
+            }
+        });
+    }
+
+    private boolean claimSession(WebSocketSession session, String roomId) {
+        if (roomBySession.putIfAbsent(session.getId(), roomId) != null) {
+            QuizRoom.send(session, messages.error(null, "Already in a room"));
+            return false;
+        }
+        return true;
+    }
+
+    private void release(WebSocketSession session, String roomId, String error) {
+        roomBySession.remove(session.getId(), roomId);
+        QuizRoom.send(session, messages.error(roomId, error));
+    }
+
+    private static String clientAddress(WebSocketSession session) {
+        // Same key as RateLimitFilter, which uses the servlet request's remote address
+        InetSocketAddress address = session.getRemoteAddress();
+        return address == null ? "unknown" : address.getAddress().getHostAddress();
+    }
+
+    private RoomShard shardFor(String roomId) {
+        return shards[Math.floorMod(roomId.hashCode(), shards.length)];
+    }
+
+    private static String newRoomId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] id = new char[6];
+        for (int i = 0; i < id.length; i++) {
+            id[i] = ID_CHARS[random.nextInt(ID_CHARS.length)];
+        }
+        return new String(id);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (RoomShard shard : shards) {
+            shard.shutdown();
+        }
+        workers.shutdown();
+    }
+}
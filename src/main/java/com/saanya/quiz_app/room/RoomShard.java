@@ -0,0 +1,55 @@
+package com.saanya.quiz_app.room;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A slice of the room registry owned by a single thread. Every event for a room
+ * (joins, answers, round timers) runs on its shard's thread, so room state needs no
+ * locks and shards never contend with each other.
+ */
+class RoomShard {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomShard.class);
+
+    private final ScheduledExecutorService executor;
+
+    // Only accessed on the shard thread
+    final Map<String, QuizRoom> rooms = new HashMap<>();
+
+    RoomShard(int index) {
+        this.executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "room-shard-" + index);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    void execute(Runnable task) {
+        executor.execute(() -> run(task));
+    }
+
+    ScheduledFuture<?> schedule(Runnable task, long delayMillis) {
+        return executor.schedule(() -> run(task), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static void run(Runnable task) {
+        // A failing room must not take the other rooms on this shard down with it
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            logger.error("Room task failed", e);
+        }
+    }
+}
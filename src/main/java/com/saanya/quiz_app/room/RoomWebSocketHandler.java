@@ -0,0 +1,120 @@
+package com.saanya.quiz_app.room;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saanya.quiz_app.model.User;
+import com.saanya.quiz_app.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WebSocket endpoint for multiplayer rooms ({@code /ws/rooms}).
+ *
+ * Client messages are JSON objects with a {@code type}:
+ * {@code create} (userId, category, rounds), {@code join} (userId, roomId),
+ * {@code start}, {@code answer} (index, choice) and {@code leave}.
+ * Sessions are wrapped in a {@link ConcurrentWebSocketSessionDecorator}, so a room can
+ * broadcast without blocking on a slow client; clients that fall too far behind are closed.
+ */
+@Component
+public class RoomWebSocketHandler extends TextWebSocketHandler {
+
+    @Autowired
+    private RoomRegistry roomRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${quiz.rooms.send-time-limit-ms:5000}")
+    private int sendTimeLimitMillis;
+
+    @Value("${quiz.rooms.send-buffer-bytes:65536}")
+    private int sendBufferBytes;
+
+    @Value("${quiz.rooms.default-rounds:5}")
+    private int defaultRounds;
+
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        sessions.put(session.getId(),
+                new ConcurrentWebSocketSessionDecorator(session, sendTimeLimitMillis, sendBufferBytes));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession rawSession, TextMessage message) {
+        // Answer timing starts here, before any queueing on the room's shard
+        long receivedAt = System.nanoTime();
+        WebSocketSession session = sessions.get(rawSession.getId());
+        if (session == null) {
+            return;
+        }
+
+        JsonNode request;
+        try {
+            request = objectMapper.readTree(message.getPayload());
+        } catch (IOException e) {
+            error(session, "Invalid message");
+            return;
+        }
+
+        switch (request.path("type").asText()) {
+            case "create" -> {
+                String category = request.path("category").asText("").trim();
+                if (category.isEmpty() || category.length() > 50) {
+                    error(session, "Category is required");
+                    return;
+                }
+                findUser(request).ifPresentOrElse(
+                        user -> roomRegistry.create(session, user.getId(), user.getUsername(), category,
+                                request.path("rounds").asInt(defaultRounds)),
+                        () -> error(session, "User not found"));
+            }
+            case "join" -> {
+                String roomId = request.path("roomId").asText("").trim().toUpperCase();
+                if (roomId.isEmpty()) {
+                    error(session, "Room ID is required");
+                    return;
+                }
+                findUser(request).ifPresentOrElse(
+                        user -> roomRegistry.join(session, user.getId(), user.getUsername(), roomId),
+                        () -> error(session, "User not found"));
+            }
+            case "start" -> roomRegistry.start(session.getId());
+            case "answer" -> roomRegistry.answer(session.getId(),
+                    request.path("index").asInt(-1), request.path("choice").asInt(-1), receivedAt);
+            case "leave" -> roomRegistry.leave(session.getId());
+            default -> error(session, "Unknown message type");
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        sessions.remove(session.getId());
+        roomRegistry.leave(session.getId());
+    }
+
+    private Optional<User> findUser(JsonNode request) {
+        JsonNode userId = request.path("userId");
+        return userId.canConvertToLong() ? userRepository.findById(userId.asLong()) : Optional.empty();
+    }
+
+    private void error(WebSocketSession session, String message) {
+        QuizRoom.send(session, roomRegistry.messages.error(null, message));
+    }
+}
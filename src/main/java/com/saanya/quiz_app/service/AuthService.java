@@ -1,13 +1,20 @@
 package com.saanya.quiz_app.service;
 
+import com.saanya.quiz_app.concurrency.LoginBackoff;
+import com.saanya.quiz_app.config.ReadYourWrites;
 import com.saanya.quiz_app.dto.LoginRequest;
 import com.saanya.quiz_app.dto.RegisterRequest;
 import com.saanya.quiz_app.dto.UserResponse;
+import com.saanya.quiz_app.metrics.QuizMetrics;
 import com.saanya.quiz_app.model.User;
+import com.saanya.quiz_app.outbox.ChangeEventPublisher;
 import com.saanya.quiz_app.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
 
 @Service
 public class AuthService {
@@ -18,6 +25,19 @@ public class AuthService {
     @Autowired
     private BCryptPasswordEncoder passwordEncoder;
 
+    @Autowired
+    private QuizMetrics metrics;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Autowired
+    private LoginBackoff loginBackoff;
+
+    @Autowired
+    private ChangeEventPublisher changeEvents;
+
+    @Transactional
     public UserResponse register(RegisterRequest request) {
         // 1. Check if username already taken
         if (userRepository.existsByUsername(request.getUsername())) {
@@ -29,13 +49,14 @@ public class AuthService {
         user.setUsername(request.getUsername());
 
         // 3. Hash password (NEVER store plain text!)
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(metrics.timeBcrypt("encode", () -> passwordEncoder.encode(request.getPassword())));
         // "pass123" becomes something like "$2a$10$xYz..."
 
         user.setHighestStreak(0);
 
         // 4. Save to database
         User savedUser = userRepository.save(user);
+        changeEvents.userUpdated(savedUser);
 
         // 5. Return response (without password!)
         return new UserResponse(
@@ -45,16 +66,32 @@ public class AuthService {
         );
     }
 
-    public UserResponse login(LoginRequest request) {
-        // 1. Find user by username
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new RuntimeException("Invalid username or password"));
+    // Not @Transactional on purpose: each lookup runs in its own read-only repository
+    // transaction, so the second one can go to the primary when the replica misses
+    public UserResponse login(LoginRequest request, String clientAddress) {
+        // 0. Refuse early, before any BCrypt work, while this address is backing off from failures on the username
+        long backoffNanos = loginBackoff.remainingNanos(request.getUsername(), clientAddress);
+        if (backoffNanos > 0) {
+            metrics.recordLoginBackoff();
+            throw new LoginBackoff.TooManyAttemptsException(backoffNanos);
+        }
+
+        // 1. Find user by username (replica first; a just-registered user may only be on the primary)
+        Optional<User> found = userRepository.findByUsername(request.getUsername())
+                .or(() -> readYourWrites.onPrimary(() -> userRepository.findByUsername(request.getUsername())));
+        if (found.isEmpty()) {
+            loginBackoff.recordFailure(request.getUsername(), clientAddress);
+            throw new RuntimeException("Invalid username or password");
+        }
+        User user = found.get();
 
         // 2. Compare hashed passwords
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!metrics.timeBcrypt("matches", () -> passwordEncoder.matches(request.getPassword(), user.getPassword()))) {
             // passwordEncoder.matches("pass123", "$2a$10$xYz...") → true/false
+            loginBackoff.recordFailure(request.getUsername(), clientAddress);
             throw new RuntimeException("Invalid username or password");
         }
+        loginBackoff.recordSuccess(request.getUsername(), clientAddress);
 
         // 3. Return user data
         return new UserResponse(
@@ -0,0 +1,314 @@
+package com.saanya.quiz_app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.saanya.quiz_app.bank.QuestionBank;
+import com.saanya.quiz_app.dto.DailyLeaderboardEntry;
+import com.saanya.quiz_app.dto.DailyResultResponse;
+import com.saanya.quiz_app.dto.DailySubmission;
+import com.saanya.quiz_app.model.DailyChallenge;
+import com.saanya.quiz_app.model.DailyResult;
+import com.saanya.quiz_app.model.Question;
+import com.saanya.quiz_app.model.User;
+import com.saanya.quiz_app.repository.DailyChallengeRepository;
+import com.saanya.quiz_app.repository.DailyResultRepository;
+import com.saanya.quiz_app.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Daily challenge: every player gets the same questions per category for the day.
+ *
+ * The next day's sets are generated through {@link GeminiService} ahead of time and
+ * stored in {@code daily_challenges}; at midnight ({@code quiz.daily.zone}) the stored
+ * sets are loaded into an immutable {@link DailyChallengeSnapshot}. A restart reloads
+ * the stored sets instead of generating new ones, so everyone keeps the same questions.
+ *
+ * Generating and loading run on one background thread, never on the scheduler's or a
+ * request's. If a day's sets are missing at midnight, the previous snapshot stays live
+ * until they are generated and the new one is swapped in.
+ *
+ * Sets hold distinct questions only: Gemini's, topped up from the question bank. A
+ * category that cannot be filled that way (Gemini down, no bank) is not stored, and
+ * the day is retried at {@code quiz.daily.retry-cron}.
+ */
+@Service
+public class DailyChallengeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyChallengeService.class);
+
+    private static final int MAX_LEADERBOARD = 100;
+
+    private static final TypeReference<List<Question>> QUESTION_LIST = new TypeReference<>() {
+    };
+
+    @Autowired
+    private GeminiService geminiService;
+
+    @Autowired
+    private DailyChallengeRepository challengeRepository;
+
+    @Autowired
+    private DailyResultRepository resultRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private QuestionBank questionBank;
+
+    @Value("${quiz.daily.categories:Science,History,Sports,Geography,Mathematics,Entertainment,Literature,Technology}")
+    private List<String> categories;
+
+    @Value("${quiz.daily.questions:10}")
+    private int questionsPerDay;
+
+    @Value("${quiz.daily.zone:UTC}")
+    private ZoneId zone;
+
+    private volatile DailyChallengeSnapshot snapshot;
+
+    private final AtomicBoolean retryQueued = new AtomicBoolean();
+
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "daily-challenge-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Today's challenge for {@code category}, or empty while the day is still being
+     * loaded or the category is not part of the challenge.
+     */
+    public Optional<DailyChallengeSnapshot.Entry> find(String category) {
+        DailyChallengeSnapshot current = snapshot;
+        return current == null ? Optional.empty() : Optional.ofNullable(current.get(category));
+    }
+
+    @Transactional
+    public DailyResultResponse submit(String category, DailySubmission submission) {
+        DailyChallengeSnapshot current = snapshot;
+        DailyChallengeSnapshot.Entry entry = current == null ? null : current.get(category);
+        if (entry == null) {
+            throw new RuntimeException("No daily challenge for category: " + category);
+        }
+        List<Question> questions = entry.questions();
+        List<Integer> correctIndexes = questions.stream()
+                .map(Question::getCorrectIndex)
+                .collect(Collectors.toList());
+
+        // One attempt per day; a repeated submission gets the stored score back
+        Optional<DailyResult> existing = resultRepository.findByChallengeDateAndCategoryAndUserId(
+                current.date, entry.category(), submission.getUserId());
+        if (existing.isPresent()) {
+            return new DailyResultResponse(current.date, entry.category(),
+                    existing.get().getScore(), questions.size(), correctIndexes);
+        }
+
+        if (submission.getAnswers().size() != questions.size()) {
+            throw new RuntimeException("Expected " + questions.size() + " answers");
+        }
+        User user = userRepository.findById(submission.getUserId())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        int score = 0;
+        for (int i = 0; i < questions.size(); i++) {
+            if (submission.getAnswers().get(i).equals(correctIndexes.get(i))) {
+                score++;
+            }
+        }
+        resultRepository.save(new DailyResult(null, current.date, entry.category(), user, score, null));
+        return new DailyResultResponse(current.date, entry.category(), score, questions.size(), correctIndexes);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailyLeaderboardEntry> getLeaderboard(String category, int limit) {
+        DailyChallengeSnapshot current = snapshot;
+        DailyChallengeSnapshot.Entry entry = current == null ? null : current.get(category);
+        if (entry == null) {
+            return List.of();
+        }
+        int size = Math.min(Math.max(limit, 1), MAX_LEADERBOARD);
+        return resultRepository.findLeaderboard(current.date, entry.category(), PageRequest.of(0, size))
+                .stream()
+                .map(result -> new DailyLeaderboardEntry(result.getUser().getUsername(), result.getScore()))
+                .collect(Collectors.toList());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        // Loading a stored day is quick, but generating a missing one can take minutes
+        loader.execute(() -> refresh(today()));
+    }
+
+    @Scheduled(cron = "${quiz.daily.prepare-cron:0 0 22 * * *}", zone = "${quiz.daily.zone:UTC}")
+    public void prepareTomorrow() {
+        LocalDate tomorrow = today().plusDays(1);
+        loader.execute(() -> {
+            try {
+                generateMissing(tomorrow);
+            } catch (RuntimeException e) {
+                logger.error("Could not prepare daily challenge for {}", tomorrow, e);
+            }
+        });
+    }
+
+    @Scheduled(cron = "0 0 0 * * *", zone = "${quiz.daily.zone:UTC}")
+    public void rollover() {
+        // Usually only a load, since prepareTomorrow stored the day already
+        LocalDate date = today();
+        loader.execute(() -> refresh(date));
+    }
+
+    @Scheduled(cron = "${quiz.daily.retry-cron:0 */15 * * * *}", zone = "${quiz.daily.zone:UTC}")
+    public void retryIncomplete() {
+        // A day whose sets could not all be generated is never swapped in; try again
+        DailyChallengeSnapshot current = snapshot;
+        LocalDate date = today();
+        if ((current == null || !current.date.equals(date)) && retryQueued.compareAndSet(false, true)) {
+            loader.execute(() -> {
+                retryQueued.set(false);
+                refresh(date);
+            });
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        loader.shutdownNow();
+    }
+
+    synchronized void refresh(LocalDate date) {
+        try {
+            generateMissing(date);
+            // Swapped in whole, so readers see the previous day until this one is complete
+            snapshot = load(date);
+            logger.info("Daily challenge for {} loaded ({} categories)", date, snapshot.size());
+        } catch (RuntimeException e) {
+            logger.error("Could not load daily challenge for {}", date, e);
+        }
+    }
+
+    synchronized void generateMissing(LocalDate date) {
+        Set<String> stored = challengeRepository.findByChallengeDate(date).stream()
+                .map(DailyChallenge::getCategory)
+                .collect(Collectors.toSet());
+        List<String> failed = new ArrayList<>();
+        for (String category : categories) {
+            if (!stored.contains(category)) {
+                try {
+                    generate(date, category);
+                } catch (RuntimeException e) {
+                    logger.warn("Could not generate daily challenge for {} / {}: {}", date, category, e.getMessage());
+                    failed.add(category);
+                }
+            }
+        }
+        if (!failed.isEmpty()) {
+            throw new RuntimeException("Daily challenge for " + date + " is missing " + failed + ", retrying later");
+        }
+    }
+
+    private void generate(LocalDate date, String category) {
+        List<Question> questions = new ArrayList<>(questionsPerDay);
+        Set<String> seen = new HashSet<>();
+        // Gemini's fallback is one fixed question per category, so only real answers count.
+        // Skip repeats, but give up on Gemini rather than loop on a small question pool.
+        for (int attempt = 0; questions.size() < questionsPerDay && attempt < questionsPerDay * 3; attempt++) {
+            Optional<Question> question = geminiService.generateFromGemini(category);
+            if (question.isPresent() && seen.add(question.get().getQuestion())) {
+                questions.add(question.get());
+            }
+        }
+        // The rest from the question bank, with a few extra tries since random picks can repeat too
+        for (int tries = 2 * (questionsPerDay - questions.size()); tries > 0
+                && questions.size() < questionsPerDay; tries--) {
+            Optional<Question> question = questionBank.randomQuestion(category);
+            if (question.isEmpty()) {
+                break;
+            }
+            if (seen.add(question.get().getQuestion())) {
+                questions.add(question.get());
+            }
+        }
+        // A short or repeating set would be stored for the whole day; better none until a retry succeeds
+        if (questions.size() < questionsPerDay) {
+            throw new RuntimeException("only " + questions.size() + " of " + questionsPerDay + " distinct questions");
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(questions);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize daily challenge", e);
+        }
+        if (challengeRepository.insertIfAbsent(date, category, json) > 0) {
+            logger.info("Generated daily challenge for {} / {}", date, category);
+        } else {
+            // Another instance stored this day's set first; everyone uses that one
+            logger.info("Daily challenge for {} / {} already stored", date, category);
+        }
+    }
+
+    private DailyChallengeSnapshot load(LocalDate date) {
+        List<DailyChallengeSnapshot.Entry> entries = new ArrayList<>();
+        for (DailyChallenge challenge : challengeRepository.findByChallengeDate(date)) {
+            try {
+                List<Question> questions = List.copyOf(objectMapper.readValue(challenge.getQuestions(), QUESTION_LIST));
+                byte[] body = publicBody(date, challenge.getCategory(), questions);
+                String etag = "\"daily-" + date + "-" + Integer.toHexString(Arrays.hashCode(body)) + "\"";
+                entries.add(new DailyChallengeSnapshot.Entry(challenge.getCategory(), questions, body, etag));
+            } catch (JsonProcessingException e) {
+                logger.error("Stored daily challenge for {} / {} is unreadable", date, challenge.getCategory(), e);
+            }
+        }
+        return new DailyChallengeSnapshot(date, entries);
+    }
+
+    private byte[] publicBody(LocalDate date, String category, List<Question> questions) throws JsonProcessingException {
+        // Answers stay on the server; submissions are scored against the stored set
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("date", date.toString());
+        body.put("category", category);
+        ArrayNode items = body.putArray("questions");
+        for (Question question : questions) {
+            ObjectNode item = items.addObject();
+            item.put("question", question.getQuestion());
+            ArrayNode options = item.putArray("options");
+            question.getOptions().forEach(options::add);
+        }
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(zone);
+    }
+}
@@ -0,0 +1,41 @@
+package com.saanya.quiz_app.service;
+
+import com.saanya.quiz_app.model.Question;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable view of one day's challenges. Each category's public JSON (questions and
+ * options, no answers) is serialized once when the snapshot is built, so serving it is
+ * a map lookup and a write of the same bytes.
+ */
+public final class DailyChallengeSnapshot {
+
+    public record Entry(String category, List<Question> questions, byte[] body, String etag) {
+    }
+
+    final LocalDate date;
+
+    private final NavigableMap<String, Entry> entries;
+
+    DailyChallengeSnapshot(LocalDate date, List<Entry> entries) {
+        this.date = date;
+        TreeMap<String, Entry> byCategory = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Entry entry : entries) {
+            byCategory.put(entry.category(), entry);
+        }
+        this.entries = Collections.unmodifiableNavigableMap(byCategory);
+    }
+
+    Entry get(String category) {
+        return entries.get(category);
+    }
+
+    int size() {
+        return entries.size();
+    }
+}
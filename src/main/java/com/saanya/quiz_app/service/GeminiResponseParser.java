@@ -0,0 +1,207 @@
+package com.saanya.quiz_app.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.saanya.quiz_app.model.Question;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Streaming parser for Gemini {@code generateContent} responses.
+ *
+ * Walks the envelope with a {@link JsonParser} and only materializes the text of
+ * the first part of the first candidate. The inner question JSON is bound straight
+ * to {@link Question}, so no intermediate {@code JsonNode} trees are built.
+ */
+@Component
+public class GeminiResponseParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeminiResponseParser.class);
+
+    private static final Set<String> FILTERED_FINISH_REASONS =
+            Set.of("SAFETY", "RECITATION", "OTHER", "PROHIBITED_CONTENT");
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectReader questionReader;
+
+    public GeminiResponseParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        // The model sometimes adds extra fields (e.g. "explanation"), which must not fail the parse
+        this.questionReader = objectMapper.readerFor(Question.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    public Question parse(String response, String category) throws IOException {
+        String textContent = extractText(response);
+
+        int jsonStart = textContent.indexOf('{');
+        int jsonEnd = textContent.lastIndexOf('}');
+        if (jsonStart < 0 || jsonEnd <= jsonStart) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("No JSON object found in text content: {}", textContent);
+            }
+            throw new RuntimeException("Could not find JSON object in response");
+        }
+
+        // Markdown fences and any surrounding prose never contain braces, so slicing
+        // between the outermost braces is enough; only copy when there is something to cut
+        String json = (jsonStart == 0 && jsonEnd == textContent.length() - 1)
+                ? textContent
+                : textContent.substring(jsonStart, jsonEnd + 1);
+
+        Question question = questionReader.readValue(json);
+
+        // Validate required fields exist. A null field counts as missing: the tree-model parser
+        // turned "question": null into the text "null" and "correctIndex": null into 0, which
+        // served a broken question instead of letting the caller retry or fall back
+        QuestionRules.requireComplete(question);
+        if (question.getOptions().contains(null)) {
+            throw new RuntimeException("Question JSON has a null option");
+        }
+
+        // Validate correctIndex is within bounds
+        if (!QuestionRules.correctIndexInRange(question)) {
+            logger.warn("correctIndex {} is out of bounds for {} options, defaulting to 0",
+                    question.getCorrectIndex(), question.getOptions().size());
+            question.setCorrectIndex(0);
+        }
+
+        question.setCategory(category);
+        return question;
+    }
+
+    /**
+     * Returns the text of {@code candidates[0].content.parts[0].text}, skipping every
+     * other value in the envelope without building it.
+     */
+    String extractText(String response) throws IOException {
+        String finishReason = null;
+        String text = null;
+        boolean sawCandidate = false;
+        boolean sawContent = false;
+        boolean sawParts = false;
+        boolean sawPart = false;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(response)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new RuntimeException("Invalid API response structure - not a JSON object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if (!"candidates".equals(field) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                // Only the first candidate is used; later ones are skipped
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (sawCandidate || parser.currentToken() != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    sawCandidate = true;
+
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String candidateField = parser.currentName();
+                        JsonToken candidateValue = parser.nextToken();
+
+                        if ("finishReason".equals(candidateField) && candidateValue.isScalarValue()) {
+                            finishReason = parser.getText();
+                        } else if ("content".equals(candidateField) && candidateValue == JsonToken.START_OBJECT) {
+                            sawContent = true;
+
+                            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                                String contentField = parser.currentName();
+                                JsonToken contentValue = parser.nextToken();
+
+                                if (!"parts".equals(contentField) || contentValue != JsonToken.START_ARRAY) {
+                                    parser.skipChildren();
+                                    continue;
+                                }
+                                sawParts = true;
+
+                                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                                    if (sawPart || parser.currentToken() != JsonToken.START_OBJECT) {
+                                        parser.skipChildren();
+                                        continue;
+                                    }
+                                    sawPart = true;
+
+                                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                                        String partField = parser.currentName();
+                                        JsonToken partValue = parser.nextToken();
+                                        if ("text".equals(partField) && partValue.isScalarValue()) {
+                                            text = parser.getText();
+                                        } else {
+                                            parser.skipChildren();
+                                        }
+                                    }
+                                }
+                            }
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+            }
+        }
+
+        // Check if response has candidates
+        if (!sawCandidate) {
+            logger.error("Response missing or empty 'candidates' field");
+            throw new RuntimeException("Invalid API response structure - no candidates");
+        }
+
+        // Check for content filtering
+        if (finishReason != null) {
+            logger.debug("Finish reason: {}", finishReason);
+            if (FILTERED_FINISH_REASONS.contains(finishReason)) {
+                logger.warn("Content was filtered by Gemini. Reason: {}", finishReason);
+                throw new ContentFilteredException(finishReason);
+            }
+        }
+
+        if (!sawContent) {
+            logger.error("First candidate missing 'content' field");
+            throw new RuntimeException("Invalid candidate structure - missing 'content'");
+        }
+        if (!sawParts) {
+            logger.error("Content missing 'parts' field");
+            throw new RuntimeException("Invalid content structure - missing 'parts'");
+        }
+        if (!sawPart) {
+            logger.error("Parts array is empty or null");
+            throw new RuntimeException("Invalid content structure - empty 'parts'");
+        }
+        if (text == null) {
+            logger.error("First part missing 'text' field");
+            throw new RuntimeException("Invalid part structure - missing 'text'");
+        }
+        if (text.isBlank()) {
+            logger.error("Text content is null or empty");
+            throw new RuntimeException("Empty text content in response");
+        }
+
+        return text;
+    }
+
+    /**
+     * Gemini withheld the content (safety, recitation, ...), as opposed to returning something unparseable.
+     */
+    public static class ContentFilteredException extends RuntimeException {
+        public ContentFilteredException(String finishReason) {
+            super("Content filtered by safety settings: " + finishReason);
+        }
+    }
+}
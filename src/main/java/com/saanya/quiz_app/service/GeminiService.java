@@ -1,8 +1,9 @@
 package com.saanya.quiz_app.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saanya.quiz_app.metrics.QuizMetrics;
+import com.saanya.quiz_app.metrics.QuizMetrics.FallbackReason;
 import com.saanya.quiz_app.model.Question;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -11,9 +12,9 @@ import org.springframework.web.reactive.function.client.WebClientResponseExcepti
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class GeminiService {
@@ -30,38 +31,83 @@ public class GeminiService {
     private WebClient webClient;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private GeminiResponseParser responseParser;
+
+    @Autowired
+    private QuizMetrics metrics;
+
+    @Autowired
+    private LogSampler logSampler;
 
     public Question generateQuestion(String category) {
+        return generateFromGemini(category).orElseGet(() -> generateMockQuestion(category));
+    }
+
+    /**
+     * A question from Gemini, or empty where {@link #generateQuestion} would fall back to
+     * the fixed mock question, for callers that must not store or repeat that one.
+     */
+    public Optional<Question> generateFromGemini(String category) {
+        Timer.Sample generateSample = metrics.start();
+
         // For testing without API key, return mock questions
         if (apiKey == null || apiKey.equals("YOUR_GEMINI_API_KEY") || apiKey.isEmpty()) {
             logger.warn("Using mock question - API key not configured");
-            return generateMockQuestion(category);
+            metrics.recordFallback(category, FallbackReason.NO_API_KEY);
+            metrics.recordGenerate(generateSample, category, "fallback");
+            return Optional.empty();
         }
 
+        boolean parsing = false;
         try {
-            logger.info("Generating question for category: {}", category);
+            logger.debug("Generating question for category: {}", category);
 
             // 1. Create prompt for AI
             String prompt = createPrompt(category);
 
             // 2. Call Gemini API
-            String response = callGeminiApi(prompt);
+            Timer.Sample callSample = metrics.start();
+            String response;
+            try {
+                response = callGeminiApi(prompt);
+            } catch (RuntimeException e) {
+                metrics.recordGeminiCall(callSample, category, "failure");
+                throw e;
+            }
+            metrics.recordGeminiCall(callSample, category, "success");
 
             // 3. Parse JSON response
+            parsing = true;
             Question question = parseGeminiResponse(response, category);
-            logger.info("Successfully generated question for category: {}", category);
-            return question;
+            logger.debug("Successfully generated question for category: {}", category);
+            metrics.recordGenerate(generateSample, category, "gemini");
+            return Optional.of(question);
 
         } catch (Exception e) {
             logger.error("Error generating question for category {}: {}", category, e.getMessage());
-            logger.info("Falling back to mock question");
+            logger.debug("Falling back to mock question");
+            metrics.recordFallback(category, fallbackReason(e, parsing));
+            metrics.recordGenerate(generateSample, category, "fallback");
             // Return a fallback question instead of throwing exception
-            return generateMockQuestion(category);
+            return Optional.empty();
+        }
+    }
+
+    private static FallbackReason fallbackReason(Throwable error, boolean parsing) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof GeminiResponseParser.ContentFilteredException) {
+                return FallbackReason.FILTERED;
+            }
+            if (cause instanceof WebClientResponseException responseException) {
+                return responseException.getStatusCode().is4xxClientError()
+                        ? FallbackReason.HTTP_4XX
+                        : FallbackReason.HTTP_5XX;
+            }
         }
+        return parsing ? FallbackReason.PARSE : FallbackReason.TRANSPORT;
     }
 
-    private String createPrompt(String category) {
+    String createPrompt(String category) {
         // Prompt optimized for SHORT, concise questions
         return String.format(
                 "Generate a SHORT and concise quiz question about %s. " +
@@ -132,159 +178,43 @@ public class GeminiService {
             return response;
 
         } catch (WebClientResponseException e) {
-            logger.error("API Error Response: Status={}, Body={}", e.getStatusCode(), e.getResponseBodyAsString());
+            logger.error("API Error Response: Status={}", e.getStatusCode());
+            if (logger.isDebugEnabled() && logSampler.sample()) {
+                logger.debug("API Error Body: {}", e.getResponseBodyAsString());
+            }
             throw new RuntimeException("Gemini API request failed: " + e.getMessage(), e);
         } catch (Exception e) {
-            logger.error("Failed to call Gemini API", e);
+            logger.error("Failed to call Gemini API: {}", e.getMessage());
+            if (logger.isDebugEnabled() && logSampler.sample()) {
+                logger.debug("Gemini API call failure", e);
+            }
             throw new RuntimeException("Failed to call Gemini API: " + e.getMessage(), e);
         }
     }
 
-    private Question parseGeminiResponse(String response, String category) {
+    Question parseGeminiResponse(String response, String category) {
+        Timer.Sample parseSample = metrics.start();
         try {
             logger.debug("Parsing Gemini API response");
 
-            // Parse the API response structure
-            JsonNode root = objectMapper.readTree(response);
-
-            // Check if response has candidates
-            if (!root.has("candidates") || root.get("candidates").isEmpty()) {
-                logger.error("Response missing or empty 'candidates' field");
-                logger.debug("Full response: {}", response);
-                throw new RuntimeException("Invalid API response structure - no candidates");
-            }
-
-            JsonNode candidates = root.get("candidates");
-            JsonNode firstCandidate = candidates.get(0);
-
-            // Check for content filtering
-            if (firstCandidate.has("finishReason")) {
-                String finishReason = firstCandidate.get("finishReason").asText();
-                logger.debug("Finish reason: {}", finishReason);
-
-                // Handle safety/content filtering
-                if (finishReason.equals("SAFETY") || finishReason.equals("RECITATION") ||
-                        finishReason.equals("OTHER") || finishReason.equals("PROHIBITED_CONTENT")) {
-                    logger.warn("Content was filtered by Gemini. Reason: {}", finishReason);
-                    throw new RuntimeException("Content filtered by safety settings: " + finishReason);
-                }
-            }
-
-            // Check if content exists
-            if (!firstCandidate.has("content")) {
-                logger.error("First candidate missing 'content' field");
-                logger.debug("Candidate: {}", firstCandidate.toString());
-                throw new RuntimeException("Invalid candidate structure - missing 'content'");
-            }
-
-            JsonNode content = firstCandidate.get("content");
-
-            // Check if parts exist and are not empty
-            if (!content.has("parts")) {
-                logger.error("Content missing 'parts' field");
-                logger.debug("Content: {}", content.toString());
-                throw new RuntimeException("Invalid content structure - missing 'parts'");
-            }
-
-            JsonNode parts = content.get("parts");
-            if (parts.isEmpty() || parts.get(0) == null) {
-                logger.error("Parts array is empty or null");
-                logger.debug("Full response: {}", response);
-                throw new RuntimeException("Invalid content structure - empty 'parts'");
-            }
-
-            // Check if text exists in the first part
-            if (!parts.get(0).has("text")) {
-                logger.error("First part missing 'text' field");
-                logger.debug("First part: {}", parts.get(0).toString());
-                throw new RuntimeException("Invalid part structure - missing 'text'");
-            }
-
-            String textContent = parts.get(0).get("text").asText();
-
-            if (textContent == null || textContent.trim().isEmpty()) {
-                logger.error("Text content is null or empty");
-                throw new RuntimeException("Empty text content in response");
-            }
-
-            logger.debug("Extracted text content: {}", textContent);
-
-            // Clean the text content
-            textContent = textContent.trim();
-
-            // Remove markdown code blocks if present
-            textContent = textContent.replaceAll("```json\\s*", "");
-            textContent = textContent.replaceAll("```\\s*", "");
-            textContent = textContent.trim();
-
-            // Extract JSON object if there's surrounding text
-            int jsonStart = textContent.indexOf('{');
-            int jsonEnd = textContent.lastIndexOf('}');
-            if (jsonStart >= 0 && jsonEnd > jsonStart) {
-                textContent = textContent.substring(jsonStart, jsonEnd + 1);
-            } else {
-                logger.error("No JSON object found in text content: {}", textContent);
-                throw new RuntimeException("Could not find JSON object in response");
-            }
-
-            logger.debug("Cleaned JSON text: {}", textContent);
-
-            // Parse the question JSON
-            JsonNode questionNode = objectMapper.readTree(textContent);
-
-            // Validate required fields exist
-            if (!questionNode.has("question")) {
-                throw new RuntimeException("Question JSON missing 'question' field");
-            }
-            if (!questionNode.has("options")) {
-                throw new RuntimeException("Question JSON missing 'options' field");
-            }
-            if (!questionNode.has("correctIndex")) {
-                throw new RuntimeException("Question JSON missing 'correctIndex' field");
-            }
-
-            // Build Question object
-            Question question = new Question();
-            question.setQuestion(questionNode.get("question").asText());
-            question.setCorrectIndex(questionNode.get("correctIndex").asInt());
-            question.setCategory(category);
-
-            // Parse options array
-            List<String> options = new ArrayList<>();
-            JsonNode optionsNode = questionNode.get("options");
-
-            if (!optionsNode.isArray()) {
-                throw new RuntimeException("Options field is not an array");
-            }
+            Question question = responseParser.parse(response, category);
 
-            if (optionsNode.size() < 2) {
-                throw new RuntimeException("Need at least 2 options");
-            }
-
-            for (JsonNode option : optionsNode) {
-                options.add(option.asText());
-            }
-            question.setOptions(options);
-
-            // Validate correctIndex is within bounds
-            if (question.getCorrectIndex() < 0 || question.getCorrectIndex() >= options.size()) {
-                logger.warn("correctIndex {} is out of bounds for {} options, defaulting to 0",
-                        question.getCorrectIndex(), options.size());
-                question.setCorrectIndex(0);
-            }
-
-            logger.info("Successfully parsed question: {}", question.getQuestion());
+            logger.debug("Successfully parsed question: {}", question.getQuestion());
+            metrics.recordParse(parseSample, category, "success");
             return question;
 
         } catch (Exception e) {
+            metrics.recordParse(parseSample, category, "failure");
             logger.error("Error parsing Gemini response: {}", e.getMessage());
-            logger.debug("Failed response: {}", response);
+            if (logger.isDebugEnabled() && logSampler.sample()) {
+                logger.debug("Failed response: {}", response);
+            }
             throw new RuntimeException("Failed to parse Gemini response: " + e.getMessage(), e);
         }
     }
 
     private Question generateMockQuestion(String category) {
-        logger.info("Generating mock question for category: {}", category);
+        logger.debug("Generating mock question for category: {}", category);
 
         switch (category.toLowerCase()) {
             case "science":
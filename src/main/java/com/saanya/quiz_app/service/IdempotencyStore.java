@@ -0,0 +1,102 @@
+package com.saanya.quiz_app.service;
+
+import com.saanya.quiz_app.concurrency.StripedCache;
+import com.saanya.quiz_app.dto.StreakResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * In-memory, per-instance record of recent idempotent saves.
+ *
+ * The first request for a key runs the save; concurrent duplicates wait for its result
+ * and later ones get it straight from memory. Entries expire after
+ * {@code quiz.idempotency.memory-ttl}, and beyond {@code quiz.idempotency.max-entries}
+ * the least recently used key is dropped as a new one comes in, so the cap costs
+ * nothing per request. Anything dropped, even a save still in flight, is still covered
+ * by the {@code streak_idempotency_keys} table and its primary key.
+ */
+@Component
+public class IdempotencyStore {
+
+    private record Entry(CompletableFuture<StreakResponse> result, String requestHash, long createdAt) {
+    }
+
+    private final StripedCache<Entry> entries;
+
+    private final long ttlNanos;
+
+    public IdempotencyStore(@Value("${quiz.idempotency.memory-ttl:10m}") Duration ttl,
+                            @Value("${quiz.idempotency.max-entries:100000}") int maxEntries,
+                            @Value("${quiz.idempotency.stripes:64}") int stripes) {
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new StripedCache<>(maxEntries, stripes);
+    }
+
+    /**
+     * Runs {@code save} once per key, or returns the result of the run that did.
+     *
+     * @throws KeyReusedException if the key was used for a request with a different hash
+     */
+    public StreakResponse execute(String key, String requestHash, Supplier<StreakResponse> save) {
+        StripedCache.Stripe<Entry> stripe = entries.stripe(key);
+        Entry current;
+        Entry claimed = null;
+        synchronized (stripe) {
+            long now = System.nanoTime();
+            current = stripe.get(key);
+            if (current == null || now - current.createdAt() >= ttlNanos) {
+                claimed = new Entry(new CompletableFuture<>(), requestHash, now);
+                stripe.put(key, claimed);
+            }
+        }
+        if (claimed == null) {
+            if (!current.requestHash().equals(requestHash)) {
+                throw new KeyReusedException();
+            }
+            return await(current.result());
+        }
+
+        try {
+            StreakResponse response = save.get();
+            claimed.result().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            // Failed saves are not remembered, so a retry runs again
+            synchronized (stripe) {
+                stripe.remove(key, claimed);
+            }
+            claimed.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static StreakResponse await(CompletableFuture<StreakResponse> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    /**
+     * An idempotency key was sent again with a different request body.
+     */
+    public static class KeyReusedException extends RuntimeException {
+
+        public KeyReusedException() {
+            super("Idempotency key was already used for a different request");
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.saanya.quiz_app.service;
+
+import com.saanya.quiz_app.config.ReadYourWrites;
+import com.saanya.quiz_app.dto.StreakRequest;
+import com.saanya.quiz_app.dto.StreakResponse;
+import com.saanya.quiz_app.repository.StreakIdempotencyKeyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Streak saves that are safe to retry. A save with an idempotency key inserts at most
+ * one streak per user and key; repeats get the original {@link StreakResponse}.
+ *
+ * Lookups go to the in-memory {@link IdempotencyStore} first, then to the
+ * {@code streak_idempotency_keys} table (after a restart, or for a retry that lands on
+ * another instance), always read on the primary. The key is written with a plain insert
+ * in the streak's transaction, so the table's primary key settles races between
+ * instances: the losing save rolls back and returns the winner's response. Both
+ * remember a hash of the request, so a key sent again with a different body is
+ * rejected instead of answered with the first body's response.
+ */
+@Service
+public class IdempotentStreakService {
+
+    @Autowired
+    private StreakService streakService;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private StreakIdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Value("${quiz.idempotency.retention:24h}")
+    private Duration retention;
+
+    public StreakResponse save(StreakRequest request, String idempotencyKey) {
+        String key = idempotencyKey != null ? idempotencyKey : request.getIdempotencyKey();
+        if (key == null || key.isBlank()) {
+            return streakService.saveStreak(request);
+        }
+        if (key.length() > 64) {
+            throw new RuntimeException("Idempotency key must be at most 64 characters");
+        }
+
+        // Keys are per user, so one client's key can never replay another user's response
+        String scopedKey = request.getUserId() + ":" + key;
+        String requestHash = requestHash(request);
+        return idempotencyStore.execute(scopedKey, requestHash, () -> saveOnce(request, scopedKey, requestHash));
+    }
+
+    public List<StreakResponse> saveBatch(List<StreakRequest> requests) {
+        // Each item commits on its own; retrying a partly applied batch is safe when items carry keys
+        List<StreakResponse> responses = new ArrayList<>(requests.size());
+        for (StreakRequest request : requests) {
+            responses.add(save(request, null));
+        }
+        return responses;
+    }
+
+    StreakResponse saveOnce(StreakRequest request, String scopedKey, String requestHash) {
+        // On the primary: a replica lagging behind a save on another instance would miss the key
+        Optional<StreakResponse> saved = readYourWrites.onPrimary(
+                () -> streakService.findSavedResponse(scopedKey, requestHash));
+        if (saved.isPresent()) {
+            return saved.get();
+        }
+        try {
+            return streakService.saveStreak(request, scopedKey, requestHash);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance saved the same key first and has committed
+            return readYourWrites.onPrimary(() -> streakService.findSavedResponse(scopedKey, requestHash))
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * SHA-256 of the fields that make up a save; the user is already part of the key.
+     */
+    static String requestHash(StreakRequest request) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(String.valueOf(request.getStreakCount()).getBytes(StandardCharsets.UTF_8));
+        // Separator, and a marker so a missing category differs from an empty one
+        digest.update((byte) 0);
+        if (request.getCategory() != null) {
+            digest.update((byte) 1);
+            digest.update(request.getCategory().getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    @Scheduled(cron = "${quiz.idempotency.cleanup-cron:0 15 * * * *}")
+    public void deleteExpiredKeys() {
+        idempotencyKeyRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+    }
+}
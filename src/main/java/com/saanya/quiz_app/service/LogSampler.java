@@ -0,0 +1,33 @@
+package com.saanya.quiz_app.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets 1 in N heavy log lines through (full response bodies, stack traces of repeated
+ * failures). Callers check the level first, so the counter is only touched when the
+ * line would actually be written:
+ *
+ * <pre>
+ * if (logger.isDebugEnabled() &amp;&amp; logSampler.sample()) {
+ *     logger.debug("Failed response: {}", response);
+ * }
+ * </pre>
+ */
+@Component
+public class LogSampler {
+
+    private final AtomicLong counter = new AtomicLong();
+
+    private final long rate;
+
+    public LogSampler(@Value("${quiz.logging.sample-rate:1}") long rate) {
+        this.rate = Math.max(1, rate);
+    }
+
+    public boolean sample() {
+        return rate == 1 || counter.getAndIncrement() % rate == 0;
+    }
+}
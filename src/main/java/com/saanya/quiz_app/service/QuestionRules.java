@@ -0,0 +1,35 @@
+package com.saanya.quiz_app.service;
+
+import com.saanya.quiz_app.model.Question;
+
+/**
+ * Validation rules for a {@link Question}, shared by the Gemini response parser and the
+ * question bank import.
+ */
+public final class QuestionRules {
+
+    private QuestionRules() {
+    }
+
+    /**
+     * Throws if a required field is missing or there are fewer than 2 options.
+     */
+    public static void requireComplete(Question question) {
+        if (question.getQuestion() == null) {
+            throw new RuntimeException("Question JSON missing 'question' field");
+        }
+        if (question.getOptions() == null) {
+            throw new RuntimeException("Question JSON missing 'options' field");
+        }
+        if (question.getCorrectIndex() == null) {
+            throw new RuntimeException("Question JSON missing 'correctIndex' field");
+        }
+        if (question.getOptions().size() < 2) {
+            throw new RuntimeException("Need at least 2 options");
+        }
+    }
+
+    public static boolean correctIndexInRange(Question question) {
+        return question.getCorrectIndex() >= 0 && question.getCorrectIndex() < question.getOptions().size();
+    }
+}
@@ -0,0 +1,245 @@
+package com.saanya.quiz_app.service;
+
+import com.saanya.quiz_app.archive.ArchivedStreak;
+import com.saanya.quiz_app.archive.StreakArchive;
+import com.saanya.quiz_app.archive.StreakArchiveStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly range partitions of {@code streaks} (PostgreSQL only, see
+ * migration V3) and moves months older than {@code quiz.streaks.archive.hot-months},
+ * from their partition and from {@code streaks_default}, into the {@link StreakArchiveStore}.
+ *
+ * {@code quiz.streaks.partitioning.enabled} is checked on every run rather than with a
+ * condition on the bean: AOT processing fixes bean conditions at build time, and the same
+ * AOT jar must start under the {@code h2} profile, which turns partitioning off.
+ */
+@Service
+public class StreakPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreakPartitionService.class);
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("streaks_(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String DEFAULT_PARTITION = "streaks_default";
+
+    private static final int FETCH_SIZE = 5_000;
+
+    private static final String SELECT_ROWS = "SELECT id, user_id, streak_count, category, played_at FROM ";
+
+    private static final RowMapper<ArchivedStreak> ROW_MAPPER = (rs, rowNum) -> new ArchivedStreak(
+            rs.getLong("id"),
+            rs.getLong("user_id"),
+            rs.getInt("streak_count"),
+            rs.getString("category"),
+            rs.getTimestamp("played_at").toLocalDateTime());
+
+    // Arbitrary constant shared by all instances so only one of them archives at a time
+    private static final long ARCHIVE_LOCK_KEY = 0x5354524BL;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private StreakArchiveStore archiveStore;
+
+    // Where earlier versions wrote archive files; only read to import them
+    @Value("${quiz.streaks.archive.dir:./data/streak-archive}")
+    private Path legacyDirectory;
+
+    @Value("${quiz.streaks.partitioning.enabled:true}")
+    private boolean enabled;
+
+    @Value("${quiz.streaks.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${quiz.streaks.archive.hot-months:6}")
+    private int hotMonths;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${quiz.streaks.partitioning.cron:0 0 2 * * *}")
+    public void createUpcomingPartitions() {
+        if (!enabled) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF streaks FOR VALUES FROM ('%s') TO ('%s')",
+                    partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+        }
+        logger.debug("Ensured streak partitions up to {}", current.plusMonths(monthsAhead));
+    }
+
+    /**
+     * Moves months archived to local files by earlier versions into {@code streak_archives}.
+     * Those months were already dropped from the database, so the files are their only copy;
+     * each one is renamed to {@code .imported} once its month is committed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void importLegacyArchives() {
+        if (!enabled) {
+            return;
+        }
+        if (!Files.isDirectory(legacyDirectory)) {
+            return;
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(legacyDirectory, "streaks-*.sarc")) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            logger.error("Failed to list legacy streak archives in {}: {}", legacyDirectory, e.getMessage());
+            return;
+        }
+
+        for (Path file : files) {
+            try {
+                StreakArchive archive;
+                try (InputStream in = Files.newInputStream(file)) {
+                    archive = StreakArchive.read(in);
+                }
+                transactionTemplate.executeWithoutResult(status -> {
+                    // Waits for a running archival; merging by id makes a repeated import harmless
+                    jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", ARCHIVE_LOCK_KEY);
+                    archiveStore.append(archive.month(), archive.rows());
+                });
+                Files.move(file, file.resolveSibling(file.getFileName() + ".imported"), StandardCopyOption.REPLACE_EXISTING);
+                logger.info("Imported {} archived streaks for {} from {}", archive.size(), archive.month(), file);
+            } catch (IOException | RuntimeException e) {
+                logger.error("Failed to import legacy streak archive {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(cron = "${quiz.streaks.archive.cron:0 30 3 * * *}")
+    public void archiveColdPartitions() {
+        if (!enabled) {
+            return;
+        }
+        YearMonth cutoff = YearMonth.now().minusMonths(hotMonths);
+
+        // Cold months are monthly partitions before the cutoff, plus months with rows that
+        // landed in streaks_default because their partition did not exist yet
+        Set<YearMonth> cold = new TreeSet<>();
+        for (String name : jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = 'streaks'", String.class)) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (matcher.matches()) {
+                YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+                if (month.isBefore(cutoff)) {
+                    cold.add(month);
+                }
+            }
+        }
+        for (Date month : jdbcTemplate.queryForList(
+                "SELECT DISTINCT CAST(date_trunc('month', played_at) AS DATE) FROM " + DEFAULT_PARTITION
+                        + " WHERE played_at < ?", Date.class, Timestamp.valueOf(cutoff.atDay(1).atStartOfDay()))) {
+            cold.add(YearMonth.from(month.toLocalDate()));
+        }
+
+        // Oldest first; after a failure the remaining months wait for the next run
+        for (YearMonth month : cold) {
+            try {
+                Boolean archived = transactionTemplate.execute(status -> archive(month));
+                if (!Boolean.TRUE.equals(archived)) {
+                    logger.info("Streak archival is running on another instance, skipping");
+                    return;
+                }
+            } catch (RuntimeException e) {
+                logger.error("Failed to archive streaks for {}: {}", month, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Moves one month into the archive. Everything happens in the caller's transaction,
+     * DDL included (PostgreSQL DDL is transactional): either the archive holds the month
+     * and its rows are gone from streaks, or nothing changed.
+     */
+    private boolean archive(YearMonth month) {
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ARCHIVE_LOCK_KEY);
+        if (!Boolean.TRUE.equals(locked)) {
+            return false;
+        }
+
+        String partition = partitionName(month);
+        boolean partitionExists = jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+        Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+
+        // Streamed in user order and stored one block of users at a time, so memory use
+        // follows the block size rather than the month's
+        String source = (partitionExists ? SELECT_ROWS + partition + " UNION ALL " : "")
+                + SELECT_ROWS + DEFAULT_PARTITION + " WHERE played_at >= ? AND played_at < ? ORDER BY user_id";
+        List<ArchivedStreak> block = new ArrayList<>();
+        int[] archived = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(source);
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setTimestamp(1, from);
+            statement.setTimestamp(2, to);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            ArchivedStreak row = ROW_MAPPER.mapRow(rs, archived[0]++);
+            if (!block.isEmpty() && StreakArchiveStore.blockOf(block.get(0).userId()) != StreakArchiveStore.blockOf(row.userId())) {
+                archiveStore.append(month, block);
+                block.clear();
+            }
+            block.add(row);
+        });
+        if (!block.isEmpty()) {
+            archiveStore.append(month, block);
+        }
+
+        jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE played_at >= ? AND played_at < ?", from, to);
+        if (partitionExists) {
+            jdbcTemplate.execute("ALTER TABLE streaks DETACH PARTITION " + partition);
+            jdbcTemplate.execute("DROP TABLE " + partition);
+        }
+        logger.info("Archived {} streaks for {}", archived[0], month);
+        return true;
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "streaks_" + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -1,18 +1,32 @@
 package com.saanya.quiz_app.service;
 
+import com.saanya.quiz_app.archive.ArchivedStreak;
+import com.saanya.quiz_app.archive.StreakArchiveStore;
+import com.saanya.quiz_app.config.ReadYourWrites;
 import com.saanya.quiz_app.dto.LeaderboardEntry;
 import com.saanya.quiz_app.dto.StreakHistory;
 import com.saanya.quiz_app.dto.StreakRequest;
 import com.saanya.quiz_app.dto.StreakResponse;
+import com.saanya.quiz_app.metrics.QuizMetrics;
 import com.saanya.quiz_app.model.Streak;
 import com.saanya.quiz_app.model.User;
+import com.saanya.quiz_app.outbox.ChangeEventPublisher;
+import com.saanya.quiz_app.repository.StreakIdempotencyKeyRepository;
 import com.saanya.quiz_app.repository.StreakRepository;
 import com.saanya.quiz_app.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,7 +38,78 @@ public class StreakService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private QuizMetrics metrics;
+
+    @Autowired
+    private StreakArchiveStore archiveStore;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Autowired
+    private StreakIdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private ChangeEventPublisher changeEvents;
+
+    @Autowired
+    private UserSummaryCache userSummaryCache;
+
+    @Transactional
     public StreakResponse saveStreak(StreakRequest request) {
+        StreakResponse response = metrics.timeStreakSave(() -> doSaveStreak(request));
+        readYourWrites.recordWrite(request.getUserId());
+        return response;
+    }
+
+    /**
+     * Saves the streak and records its response under {@code scopedKey} in the same
+     * transaction. If the key is already stored (a concurrent save with the same key won)
+     * this throws and rolls back, streak included.
+     *
+     * @throws DataIntegrityViolationException if the key is already stored
+     */
+    @Transactional
+    public StreakResponse saveStreak(StreakRequest request, String scopedKey, String requestHash) {
+        StreakResponse response = metrics.timeStreakSave(() -> doSaveStreak(request));
+        int inserted = idempotencyKeyRepository.insertIfAbsent(
+                scopedKey,
+                request.getUserId(),
+                response.getIsNewRecord(),
+                response.getCurrentStreak(),
+                response.getHighestStreak(),
+                requestHash
+        );
+        if (inserted == 0) {
+            throw new DataIntegrityViolationException("Idempotency key " + scopedKey + " is already saved");
+        }
+        readYourWrites.recordWrite(request.getUserId());
+        return response;
+    }
+
+    /**
+     * @throws IdempotencyStore.KeyReusedException if the key was saved for a request with a
+     *         different hash (keys stored before hashes were recorded match anything)
+     */
+    @Transactional(readOnly = true)
+    public Optional<StreakResponse> findSavedResponse(String scopedKey, String requestHash) {
+        return idempotencyKeyRepository.findById(scopedKey)
+                .map(key -> {
+                    if (key.getRequestHash() != null && !key.getRequestHash().equals(requestHash)) {
+                        throw new IdempotencyStore.KeyReusedException();
+                    }
+                    return key;
+                })
+                .map(key -> new StreakResponse(
+                        "Streak saved successfully!",
+                        key.getIsNewRecord(),
+                        key.getCurrentStreak(),
+                        key.getHighestStreak()
+                ));
+    }
+
+    private StreakResponse doSaveStreak(StreakRequest request) {
         // 1. Find user
         Optional<User> userOpt = userRepository.findById(request.getUserId());
         if (userOpt.isEmpty()) {
@@ -44,6 +129,8 @@ public class StreakService {
         if (request.getStreakCount() > user.getHighestStreak()) {
             user.setHighestStreak(request.getStreakCount());
             userRepository.save(user);
+            // Same transaction: other instances' caches hear about the record iff it commits
+            changeEvents.userUpdated(user);
             isNewRecord = true;
         }
 
@@ -56,21 +143,55 @@ public class StreakService {
         );
     }
 
+    @Transactional(readOnly = true)
     public List<StreakHistory> getUserStreakHistory(Long userId) {
+        return readYourWrites.forUser(userId, () -> loadStreakHistory(userId));
+    }
+
+    private List<StreakHistory> loadStreakHistory(Long userId) {
+        // Recent games come from streaks, older months from streak_archives. A month moves
+        // from one to the other in a single transaction, but that can commit between the two
+        // reads, so archived rows already read from streaks are skipped by id.
         List<Streak> streaks = streakRepository.findByUserIdOrderByPlayedAtDesc(userId);
-        return streaks.stream()
-                .map(streak -> new StreakHistory(
-                        streak.getStreakCount(),
-                        streak.getCategory(),
-                        streak.getPlayedAt()
-                ))
-                .collect(Collectors.toList());
+        Set<Long> seen = new HashSet<>(streaks.size());
+        List<StreakHistory> history = new ArrayList<>(streaks.size());
+        for (Streak streak : streaks) {
+            seen.add(streak.getId());
+            history.add(new StreakHistory(
+                    streak.getStreakCount(),
+                    streak.getCategory(),
+                    streak.getPlayedAt()
+            ));
+        }
+
+        List<ArchivedStreak> archived = archiveStore.findHistory(userId);
+        if (archived.isEmpty()) {
+            return history;
+        }
+        for (ArchivedStreak row : archived) {
+            if (!seen.contains(row.id())) {
+                history.add(new StreakHistory(row.streakCount(), row.category(), row.playedAt()));
+            }
+        }
+        // Late rows of an archived month can still be in streaks_default until the next run
+        history.sort(Comparator.comparing(StreakHistory::getPlayedAt).reversed());
+        return history;
     }
 
+    @Transactional(readOnly = true)
     public List<LeaderboardEntry> getLeaderboard(int limit) {
-        List<User> topUsers = userRepository.findTopUsers();
+        if (limit <= 0) {
+            return List.of();
+        }
+        Optional<List<LeaderboardEntry>> cached = userSummaryCache.leaderboard(limit);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        // Only the requested page, not every user
+        List<User> topUsers = metrics.timeLeaderboardQuery(
+                () -> userRepository.findTopUsers(PageRequest.of(0, limit)));
         return topUsers.stream()
-                .limit(limit)
                 .map(user -> new LeaderboardEntry(
                         user.getUsername(),
                         user.getHighestStreak()
@@ -78,8 +199,15 @@ public class StreakService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public Integer getHighestStreak(Long userId) {
-        Optional<User> user = userRepository.findById(userId);
+        OptionalInt cached = userSummaryCache.highestStreak(userId);
+        if (cached.isPresent()) {
+            return cached.getAsInt();
+        }
+
+        Optional<User> user = readYourWrites.forUser(userId, () -> userRepository.findById(userId));
+        user.ifPresent(userSummaryCache::remember);
         return user.map(User::getHighestStreak).orElse(0);
     }
 }
@@ -0,0 +1,175 @@
+package com.saanya.quiz_app.service;
+
+import com.saanya.quiz_app.config.ReadYourWrites;
+import com.saanya.quiz_app.dto.LeaderboardEntry;
+import com.saanya.quiz_app.model.ChangeEvent;
+import com.saanya.quiz_app.model.User;
+import com.saanya.quiz_app.outbox.ChangeEventHandler;
+import com.saanya.quiz_app.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory highest streaks and top-of-leaderboard, kept current across instances by
+ * {@code USER_UPDATED} change events.
+ *
+ * A highest streak only ever goes up, so every update is merged with {@code max}: events
+ * applied twice, late or out of order, and database reads racing with events, all end
+ * in the same state. For the same reason the top {@code leaderboard-size} never needs the
+ * database after startup: a user can only enter it through an event.
+ *
+ * Only serves reads while the outbox poller runs ({@code quiz.outbox.enabled}); without
+ * it other instances' writes would never arrive.
+ */
+@Component
+public class UserSummaryCache implements ChangeEventHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSummaryCache.class);
+
+    private record Ranked(long userId, String username, int highestStreak) {
+    }
+
+    private static final Comparator<Ranked> RANKING = Comparator.comparingInt(Ranked::highestStreak).reversed()
+            .thenComparingLong(Ranked::userId);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Value("${quiz.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${quiz.cache.leaderboard-size:100}")
+    private int leaderboardSize;
+
+    @Value("${quiz.cache.max-users:100000}")
+    private int maxUsers;
+
+    private final Map<Long, Integer> highestStreaks = new ConcurrentHashMap<>();
+
+    // Guarded by top
+    private final TreeSet<Ranked> top = new TreeSet<>(RANKING);
+    private final Map<Long, Ranked> topByUser = new HashMap<>();
+
+    private volatile List<LeaderboardEntry> leaderboard = List.of();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        // Merged like events, so changes applied while this runs are not lost
+        List<User> users = readYourWrites.onPrimary(
+                () -> userRepository.findTopUsers(PageRequest.of(0, leaderboardSize)));
+        synchronized (top) {
+            for (User user : users) {
+                rank(new Ranked(user.getId(), user.getUsername(), user.getHighestStreak()));
+            }
+            publishLeaderboard();
+        }
+        ready = true;
+        logger.info("Leaderboard cache loaded with {} users", users.size());
+    }
+
+    /**
+     * The top {@code limit} players, or empty when the cache cannot answer (not loaded, or
+     * deeper than it keeps).
+     */
+    public Optional<List<LeaderboardEntry>> leaderboard(int limit) {
+        if (!ready || limit > leaderboardSize) {
+            return Optional.empty();
+        }
+        List<LeaderboardEntry> current = leaderboard;
+        return Optional.of(limit >= current.size() ? current : current.subList(0, limit));
+    }
+
+    public OptionalInt highestStreak(Long userId) {
+        if (!ready) {
+            return OptionalInt.empty();
+        }
+        Integer highest = highestStreaks.get(userId);
+        return highest == null ? OptionalInt.empty() : OptionalInt.of(highest);
+    }
+
+    /**
+     * Caches a value read from the database.
+     */
+    public void remember(User user) {
+        if (ready) {
+            mergeHighest(user.getId(), user.getHighestStreak());
+        }
+    }
+
+    @Override
+    public void apply(List<ChangeEvent> events) {
+        boolean leaderboardChanged = false;
+        synchronized (top) {
+            for (ChangeEvent event : events) {
+                if (event.getEventType() != ChangeEvent.Type.USER_UPDATED) {
+                    continue;
+                }
+                mergeHighest(event.getUserId(), event.getHighestStreak());
+                leaderboardChanged |= rank(new Ranked(event.getUserId(), event.getUsername(), event.getHighestStreak()));
+            }
+            if (leaderboardChanged) {
+                publishLeaderboard();
+            }
+        }
+    }
+
+    private void mergeHighest(Long userId, int highest) {
+        // Only grows while there is room; users already cached are always updated
+        if (highestStreaks.size() < maxUsers || highestStreaks.containsKey(userId)) {
+            highestStreaks.merge(userId, highest, Math::max);
+        }
+    }
+
+    /**
+     * Places the user in the top set if they belong there; call holding {@code top}.
+     *
+     * @return whether the top set changed
+     */
+    private boolean rank(Ranked candidate) {
+        Ranked current = topByUser.get(candidate.userId());
+        if (current != null && current.highestStreak() >= candidate.highestStreak()) {
+            return false;
+        }
+        if (current == null && top.size() >= leaderboardSize && RANKING.compare(candidate, top.last()) > 0) {
+            return false;
+        }
+
+        if (current != null) {
+            top.remove(current);
+        }
+        top.add(candidate);
+        topByUser.put(candidate.userId(), candidate);
+        if (top.size() > leaderboardSize) {
+            topByUser.remove(top.pollLast().userId());
+        }
+        return true;
+    }
+
+    private void publishLeaderboard() {
+        leaderboard = top.stream()
+                .map(ranked -> new LeaderboardEntry(ranked.username(), ranked.highestStreak()))
+                .toList();
+    }
+}
@@ -0,0 +1,10 @@
+-- Same schema as db/migration/postgresql/V10, for the h2 profile.
+
+CREATE TABLE streak_archives (
+    user_block  BIGINT       NOT NULL,
+    month_start DATE         NOT NULL,
+    row_count   INTEGER      NOT NULL,
+    data        BYTEA        NOT NULL,
+    archived_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (user_block, month_start)
+);
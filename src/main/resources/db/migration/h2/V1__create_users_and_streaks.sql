@@ -0,0 +1,17 @@
+-- Same schema as db/migration/postgresql/V1, for the h2 profile.
+
+CREATE TABLE users (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username       VARCHAR(50)  NOT NULL UNIQUE,
+    password       VARCHAR(255) NOT NULL,
+    highest_streak INTEGER,
+    created_at     TIMESTAMP(6)
+);
+
+CREATE TABLE streaks (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id      BIGINT      NOT NULL REFERENCES users (id),
+    streak_count INTEGER     NOT NULL,
+    category     VARCHAR(50),
+    played_at    TIMESTAMP(6)
+);
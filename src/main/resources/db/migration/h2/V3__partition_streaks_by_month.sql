@@ -0,0 +1,2 @@
+-- H2 has no table partitioning; keep the column constraints in line with db/migration/postgresql/V3.
+ALTER TABLE streaks ALTER COLUMN played_at SET NOT NULL;
@@ -0,0 +1,12 @@
+-- Responses of streak saves made with an Idempotency-Key, so retries get the original
+-- response instead of inserting the streak again. Keys are scoped per user ("<userId>:<key>").
+CREATE TABLE streak_idempotency_keys (
+    idempotency_key VARCHAR(100) PRIMARY KEY,
+    user_id         BIGINT       NOT NULL,
+    is_new_record   BOOLEAN      NOT NULL,
+    current_streak  INTEGER      NOT NULL,
+    highest_streak  INTEGER      NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_streak_idempotency_keys_created_at ON streak_idempotency_keys (created_at);
@@ -0,0 +1,21 @@
+-- Same schema as db/migration/postgresql/V5, for the h2 profile.
+
+CREATE TABLE daily_challenges (
+    challenge_date DATE            NOT NULL,
+    category       VARCHAR(50)     NOT NULL,
+    questions      VARCHAR(100000) NOT NULL,
+    created_at     TIMESTAMP(6)    NOT NULL,
+    PRIMARY KEY (challenge_date, category)
+);
+
+CREATE TABLE daily_results (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    challenge_date DATE         NOT NULL,
+    category       VARCHAR(50)  NOT NULL,
+    user_id        BIGINT       NOT NULL REFERENCES users (id),
+    score          INTEGER      NOT NULL,
+    submitted_at   TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_daily_results_user UNIQUE (challenge_date, category, user_id)
+);
+
+CREATE INDEX idx_daily_results_leaderboard ON daily_results (challenge_date, category, score DESC, submitted_at);
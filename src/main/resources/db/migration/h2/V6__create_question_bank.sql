@@ -0,0 +1,13 @@
+-- Same schema as db/migration/postgresql/V6, for the h2 profile.
+
+CREATE TABLE question_bank (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    category      VARCHAR(50)   NOT NULL,
+    question      VARCHAR(1000) NOT NULL,
+    options       VARCHAR(8000) NOT NULL,
+    correct_index INTEGER       NOT NULL,
+    content_hash  CHAR(64)      NOT NULL,
+    CONSTRAINT uk_question_bank_content_hash UNIQUE (content_hash)
+);
+
+CREATE INDEX idx_question_bank_category_id ON question_bank (category, id);
@@ -0,0 +1,12 @@
+-- Same schema as db/migration/postgresql/V7, for the h2 profile.
+
+CREATE TABLE change_events (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_type     VARCHAR(30)  NOT NULL,
+    user_id        BIGINT,
+    username       VARCHAR(50),
+    highest_streak INTEGER,
+    created_at     TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_change_events_created_at ON change_events (created_at);
@@ -0,0 +1,8 @@
+-- Same schema as db/migration/postgresql/V8, for the h2 profile.
+
+ALTER TABLE question_bank ADD COLUMN category_key VARCHAR(50);
+UPDATE question_bank SET category_key = lower(category);
+ALTER TABLE question_bank ALTER COLUMN category_key SET NOT NULL;
+
+DROP INDEX idx_question_bank_category_id;
+CREATE INDEX idx_question_bank_category_key_id ON question_bank (category_key, id);
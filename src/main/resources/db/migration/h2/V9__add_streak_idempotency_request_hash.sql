@@ -0,0 +1,3 @@
+-- Same schema as db/migration/postgresql/V9, for the h2 profile.
+
+ALTER TABLE streak_idempotency_keys ADD COLUMN request_hash VARCHAR(64);
@@ -0,0 +1,13 @@
+-- Archived streaks, moved out of the streaks partitions. One compressed columnar
+-- StreakArchive per month and block of 1024 user ids (user_block = user_id / 1024), so a
+-- user's history reads a few small rows through the primary key, never a whole month.
+-- Kept in the database so every instance reads the same archive and a month's rows are
+-- removed from streaks in the same transaction that stores them here.
+CREATE TABLE streak_archives (
+    user_block  BIGINT       NOT NULL,
+    month_start DATE         NOT NULL,
+    row_count   INTEGER      NOT NULL,
+    data        BYTEA        NOT NULL,
+    archived_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (user_block, month_start)
+);
@@ -0,0 +1,5 @@
+-- Game history: WHERE user_id = ? ORDER BY played_at DESC
+CREATE INDEX IF NOT EXISTS idx_streaks_user_played_at ON streaks (user_id, played_at DESC);
+
+-- Leaderboard: ORDER BY highest_streak DESC
+CREATE INDEX IF NOT EXISTS idx_users_highest_streak ON users (highest_streak DESC);
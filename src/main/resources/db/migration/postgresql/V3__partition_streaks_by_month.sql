@@ -0,0 +1,45 @@
+-- Range-partition streaks by played_at month.
+-- The primary key has to include the partition key; ids stay unique because they all
+-- come from the one identity sequence. StreakPartitionService creates upcoming months
+-- and archives old ones; the default partition only catches rows outside those ranges.
+
+ALTER TABLE streaks RENAME TO streaks_unpartitioned;
+ALTER INDEX idx_streaks_user_played_at RENAME TO idx_streaks_unpartitioned_user_played_at;
+
+CREATE TABLE streaks (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id      BIGINT       NOT NULL REFERENCES users (id),
+    streak_count INTEGER      NOT NULL,
+    category     VARCHAR(50),
+    played_at    TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, played_at)
+) PARTITION BY RANGE (played_at);
+
+CREATE INDEX idx_streaks_user_played_at ON streaks (user_id, played_at DESC);
+
+CREATE TABLE streaks_default PARTITION OF streaks DEFAULT;
+
+-- One partition per month from the oldest existing game up to three months ahead
+DO $$
+DECLARE
+    month_start DATE;
+    last_month  DATE;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(played_at), now()))::date INTO month_start FROM streaks_unpartitioned;
+    last_month := (date_trunc('month', now()) + INTERVAL '3 months')::date;
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF streaks FOR VALUES FROM (%L) TO (%L)',
+                       'streaks_' || to_char(month_start, 'YYYY_MM'),
+                       month_start,
+                       (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO streaks (id, user_id, streak_count, category, played_at)
+SELECT id, user_id, streak_count, category, COALESCE(played_at, now())
+FROM streaks_unpartitioned;
+
+SELECT setval(pg_get_serial_sequence('streaks', 'id'), COALESCE((SELECT MAX(id) FROM streaks), 0) + 1, false);
+
+DROP TABLE streaks_unpartitioned;
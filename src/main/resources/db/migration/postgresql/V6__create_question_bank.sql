@@ -0,0 +1,14 @@
+-- Curated questions imported in bulk (see QuestionBankImporter). options is a JSON array;
+-- content_hash (SHA-256 of category, question and options) makes re-imports idempotent.
+CREATE TABLE question_bank (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    category      VARCHAR(50)   NOT NULL,
+    question      VARCHAR(1000) NOT NULL,
+    options       TEXT          NOT NULL,
+    correct_index INTEGER       NOT NULL,
+    content_hash  CHAR(64)      NOT NULL,
+    CONSTRAINT uk_question_bank_content_hash UNIQUE (content_hash)
+);
+
+-- Random picks per category seek to a random id within the category
+CREATE INDEX idx_question_bank_category_id ON question_bank (category, id);
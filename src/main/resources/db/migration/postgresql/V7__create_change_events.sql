@@ -0,0 +1,13 @@
+-- Outbox of changes to cached state, written in the same transaction as the change itself.
+-- Every instance polls it in id order to update its in-memory caches (see ChangeEventPoller).
+-- Events carry the new state rather than a delta, so applying one twice is harmless.
+CREATE TABLE change_events (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_type     VARCHAR(30)  NOT NULL,
+    user_id        BIGINT,
+    username       VARCHAR(50),
+    highest_streak INTEGER,
+    created_at     TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_change_events_created_at ON change_events (created_at);
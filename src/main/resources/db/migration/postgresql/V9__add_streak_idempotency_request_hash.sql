@@ -0,0 +1,3 @@
+-- SHA-256 of the saved request, so a key reused with a different body is rejected (422)
+-- rather than answered with the first body's response. Null for keys stored before this.
+ALTER TABLE streak_idempotency_keys ADD COLUMN request_hash VARCHAR(64);
@@ -0,0 +1,60 @@
+package com.saanya.quiz_app.archive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:archive-store;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("h2")
+class StreakArchiveStoreTests {
+
+    @Autowired
+    private StreakArchiveStore archiveStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void historyReadsOnlyTheUsersBlockAcrossMonths() {
+        long user = 5 * StreakArchiveStore.USERS_PER_BLOCK + 17;
+        long neighbour = user + 1;
+        long elsewhere = user + StreakArchiveStore.USERS_PER_BLOCK;
+        YearMonth january = YearMonth.of(2024, 1);
+        YearMonth february = YearMonth.of(2024, 2);
+
+        archiveStore.append(january, List.of(
+                row(1, user, january, 3), row(2, neighbour, january, 4), row(3, elsewhere, january, 5)));
+        archiveStore.append(february, List.of(row(4, user, february, 6), row(5, elsewhere, february, 7)));
+
+        assertThat(archiveStore.findHistory(user)).extracting(ArchivedStreak::id).containsExactly(4L, 1L);
+        assertThat(archiveStore.findHistory(elsewhere)).extracting(ArchivedStreak::id).containsExactly(5L, 3L);
+        // One row per month and block
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM streak_archives WHERE user_block = ?",
+                Integer.class, StreakArchiveStore.blockOf(user))).isEqualTo(2);
+    }
+
+    @Test
+    void appendMergesByIdWithWhatIsStored() {
+        long user = 77 * StreakArchiveStore.USERS_PER_BLOCK;
+        YearMonth month = YearMonth.of(2023, 6);
+
+        archiveStore.append(month, List.of(row(10, user, month, 1), row(11, user, month, 2)));
+        // Imported twice, plus one late row
+        archiveStore.append(month, List.of(row(10, user, month, 1), row(12, user, month, 3)));
+
+        assertThat(archiveStore.findHistory(user)).extracting(ArchivedStreak::id).containsExactly(12L, 11L, 10L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT row_count FROM streak_archives WHERE user_block = ?", Integer.class, 77)).isEqualTo(3);
+    }
+
+    private static ArchivedStreak row(long id, long userId, YearMonth month, int day) {
+        return new ArchivedStreak(id, userId, (int) id, "Science", month.atDay(day).atTime(12, 0));
+    }
+}
@@ -0,0 +1,82 @@
+package com.saanya.quiz_app.archive;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StreakArchiveTests {
+
+    private static final YearMonth MONTH = YearMonth.of(2025, 3);
+
+    @Test
+    void roundTripKeepsEveryRow() throws IOException {
+        List<ArchivedStreak> rows = List.of(
+                // Ids out of order within a user and times going backwards: negative deltas
+                new ArchivedStreak(900, 7, 12, "Science", at(20, 10, 0, 0)),
+                new ArchivedStreak(5, 7, 3, null, at(21, 8, 30, 123_456_000)),
+                new ArchivedStreak(1_000_000_000_000L, 7, 0, "History", at(2, 0, 0, 0)),
+                new ArchivedStreak(42, 3, 25, "Science", at(31, 23, 59, 999_999_000)),
+                new ArchivedStreak(41, 1_000_000, 1, null, at(1, 0, 0, 0)));
+
+        StreakArchive archive = roundTrip(rows);
+
+        assertThat(archive.month()).isEqualTo(MONTH);
+        assertThat(archive.size()).isEqualTo(rows.size());
+        assertThat(archive.rows()).containsExactlyInAnyOrderElementsOf(rows);
+        // Newest first per user, with null categories kept as null
+        assertThat(archive.rowsFor(7)).extracting(ArchivedStreak::id).containsExactly(5L, 900L, 1_000_000_000_000L);
+        assertThat(archive.rowsFor(7).get(0).category()).isNull();
+        assertThat(archive.rowsFor(1_000_000)).containsExactly(rows.get(4));
+        assertThat(archive.rowsFor(8)).isEmpty();
+    }
+
+    @Test
+    void emptyArchiveRoundTrips() throws IOException {
+        StreakArchive archive = roundTrip(List.of());
+
+        assertThat(archive.size()).isZero();
+        assertThat(archive.rows()).isEmpty();
+        assertThat(archive.rowsFor(1)).isEmpty();
+    }
+
+    @Test
+    void lateRowsMergeIntoAnExistingArchive() throws IOException {
+        ArchivedStreak early = new ArchivedStreak(10, 7, 4, "Science", at(5, 12, 0, 0));
+        ArchivedStreak other = new ArchivedStreak(11, 8, 6, "Sports", at(6, 12, 0, 0));
+        StreakArchive existing = roundTrip(List.of(early, other));
+
+        // A row that reached streaks_default after the month was archived
+        ArchivedStreak late = new ArchivedStreak(3, 7, 9, null, at(28, 12, 0, 0));
+        List<ArchivedStreak> merged = new ArrayList<>(existing.rows());
+        merged.add(late);
+        StreakArchive archive = roundTrip(merged);
+
+        assertThat(archive.rows()).containsExactlyInAnyOrder(early, other, late);
+        assertThat(archive.rowsFor(7)).containsExactly(late, early);
+    }
+
+    @Test
+    void rejectsOtherData() {
+        assertThatThrownBy(() -> StreakArchive.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8})))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static StreakArchive roundTrip(List<ArchivedStreak> rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreakArchive.write(MONTH, rows, out);
+        return StreakArchive.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static LocalDateTime at(int day, int hour, int minute, int nanos) {
+        return MONTH.atDay(day).atTime(hour, minute, 0, nanos);
+    }
+}
@@ -0,0 +1,117 @@
+package com.saanya.quiz_app.bank;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedLineReaderTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void chunksEndOnLineBoundariesAndCoverTheFile() throws IOException {
+        StringBuilder content = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String line = "line-" + i + "-" + "x".repeat(i % 17);
+            expected.add(line);
+            content.append(line).append('\n');
+        }
+
+        for (long chunkBytes : new long[]{1, 7, 64, 1000, 1_000_000}) {
+            Lines lines = read(content.toString(), chunkBytes, 1024);
+            assertThat(lines.text).as("chunk size %d", chunkBytes).isEqualTo(expected);
+            assertThat(lines.chunks).allSatisfy(chunk -> {
+                assertThat(chunk.start() == 0 || content.charAt((int) chunk.start() - 1) == '\n').isTrue();
+            });
+        }
+    }
+
+    @Test
+    void offsetsPointAtTheStartOfEachLine() throws IOException {
+        Lines lines = read("ab\ncde\n\nf\n", 4, 1024);
+
+        assertThat(lines.text).containsExactly("ab", "cde", "f");
+        assertThat(lines.offsets).containsExactly(0L, 3L, 8L);
+    }
+
+    @Test
+    void stripsCarriageReturnsAndSkipsBlankLines() throws IOException {
+        Lines lines = read("first\r\n\r\nsecond\r\n", 3, 1024);
+
+        assertThat(lines.text).containsExactly("first", "second");
+    }
+
+    @Test
+    void readsALastLineWithoutNewline() throws IOException {
+        Lines lines = read("first\nlast", 4, 1024);
+
+        assertThat(lines.text).containsExactly("first", "last");
+        assertThat(lines.offsets).containsExactly(0L, 6L);
+    }
+
+    @Test
+    void reportsOverlongLinesAndCarriesOn() throws IOException {
+        String longLine = "y".repeat(3000);
+        Lines lines = read("short\n" + longLine + "\nafter\n" + longLine, 1, 2048);
+
+        assertThat(lines.text).containsExactly("short", "after");
+        assertThat(lines.overlong).containsExactly(6L, 6L + 3001 + 6);
+    }
+
+    @Test
+    void lineOfExactlyTheMaximumIsKept() throws IOException {
+        String line = "z".repeat(2048);
+        Lines lines = read(line + "\n", 1, 2048);
+
+        assertThat(lines.text).containsExactly(line);
+        assertThat(lines.overlong).isEmpty();
+    }
+
+    @Test
+    void emptyFileHasNoChunks() throws IOException {
+        assertThat(read("", 64, 1024).chunks).isEmpty();
+    }
+
+    private Lines read(String content, long chunkBytes, int maxLineBytes) throws IOException {
+        Path file = Files.writeString(dir.resolve("bank-" + chunkBytes + ".txt"), content, StandardCharsets.UTF_8);
+        Lines lines = new Lines();
+        try (FileChannel channel = FileChannel.open(file)) {
+            MappedLineReader reader = new MappedLineReader(channel, maxLineBytes);
+            lines.chunks = reader.split(chunkBytes);
+            for (MappedLineReader.Chunk chunk : lines.chunks) {
+                reader.read(chunk, lines);
+            }
+        }
+        return lines;
+    }
+
+    private static class Lines implements MappedLineReader.LineHandler {
+
+        List<MappedLineReader.Chunk> chunks;
+        final List<String> text = new ArrayList<>();
+        final List<Long> offsets = new ArrayList<>();
+        final List<Long> overlong = new ArrayList<>();
+
+        @Override
+        public void line(byte[] bytes, int length, long offset) {
+            text.add(new String(bytes, 0, length, StandardCharsets.UTF_8));
+            offsets.add(offset);
+        }
+
+        @Override
+        public void overlong(long offset) {
+            overlong.add(offset);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.saanya.quiz_app.bank;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saanya.quiz_app.model.Question;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QuestionRecordParserTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final QuestionRecordParser csv = parser(QuestionRecordParser.Format.CSV);
+    private final QuestionRecordParser json = parser(QuestionRecordParser.Format.JSONL);
+
+    @Test
+    void parsesPlainCsv() {
+        BankQuestion question = parse(csv, "Science, What is H2O? ,1,Salt,Water,Sand");
+
+        assertThat(question.category()).isEqualTo("Science");
+        assertThat(question.question()).isEqualTo("What is H2O?");
+        assertThat(question.options()).isEqualTo("[\"Salt\",\"Water\",\"Sand\"]");
+        assertThat(question.correctIndex()).isEqualTo(1);
+    }
+
+    @Test
+    void quotedCsvFieldsKeepCommasAndEscapedQuotes() {
+        BankQuestion question = parse(csv,
+                "\"Literature\",\"Who wrote \"\"Dubliners\"\", 1914?\",0,\"Joyce, James\",\"Woolf, Virginia\"");
+
+        assertThat(question.question()).isEqualTo("Who wrote \"Dubliners\", 1914?");
+        assertThat(question.options()).isEqualTo("[\"Joyce, James\",\"Woolf, Virginia\"]");
+    }
+
+    @Test
+    void recognizesTheCsvHeader() {
+        assertThat(isHeader(csv, "category,question,correctIndex,option1,option2")).isTrue();
+        assertThat(isHeader(csv, "Category,Question,CorrectIndex,A,B")).isTrue();
+        assertThat(isHeader(csv, "Science,What is H2O?,1,Salt,Water")).isFalse();
+        assertThat(isHeader(json, "category,question,correctIndex,option1,option2")).isFalse();
+    }
+
+    @Test
+    void parsesJsonLinesIgnoringUnknownFields() {
+        BankQuestion question = parse(json,
+                "{\"category\":\"History\",\"question\":\"First emperor of Rome?\",\"options\":[\"Augustus\",\"Nero\"],"
+                        + "\"correctIndex\":0,\"source\":\"curated\"}");
+
+        assertThat(question.category()).isEqualTo("History");
+        assertThat(question.question()).isEqualTo("First emperor of Rome?");
+        assertThat(question.options()).isEqualTo("[\"Augustus\",\"Nero\"]");
+    }
+
+    @Test
+    void sameContentHashesAlikeAcrossFormatsAndCategoryCase() {
+        BankQuestion fromCsv = parse(csv, "science,What is H2O?,1,Salt,Water");
+        BankQuestion fromJson = parse(json,
+                "{\"category\":\"Science\",\"question\":\"What is H2O?\",\"options\":[\"Salt\",\"Water\"],\"correctIndex\":1}");
+
+        assertThat(fromCsv.contentHash()).isEqualTo(fromJson.contentHash());
+        assertThat(parse(csv, "Science,What is H2O?,1,Salt,Water ice").contentHash()).isNotEqualTo(fromCsv.contentHash());
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', textBlock = """
+            CSV   | Science,What is H2O?                                  | Expected category,question,correctIndex
+            CSV   | Science,What is H2O?,one,Salt,Water                   | correctIndex is not a number
+            CSV   | Science,"What is H2O?,1,Salt,Water                    | Unterminated quoted field
+            CSV   | Science,What is H2O?,2,Salt,Water                     | correctIndex 2 is out of bounds for 2 options
+            CSV   | Science,What is H2O?,0,Salt                           | Need at least 2 options
+            CSV   | ,What is H2O?,0,Salt,Water                            | Missing category
+            CSV   | Science,What is H2O?,0,Salt,                          | Blank option
+            JSONL | {"category":"Science","question":                     | Malformed JSON
+            JSONL | {"category":"Science","options":["a","b"],"correctIndex":0} | missing 'question'
+            """)
+    void rejectsMalformedRecords(QuestionRecordParser.Format format, String line, String reason) {
+        QuestionRecordParser parser = format == QuestionRecordParser.Format.CSV ? csv : json;
+
+        assertThatThrownBy(() -> parse(parser, line)).isInstanceOf(RuntimeException.class).hasMessageContaining(reason);
+    }
+
+    @Test
+    void rejectsOverlongQuestions() {
+        String line = "Science," + "x".repeat(QuestionRecordParser.MAX_QUESTION_LENGTH + 1) + ",0,a,b";
+
+        assertThatThrownBy(() -> parse(csv, line)).hasMessageContaining("Question must be");
+    }
+
+    @Test
+    void formatFollowsTheFileExtension() {
+        assertThat(QuestionRecordParser.formatOf("bank.CSV")).isEqualTo(QuestionRecordParser.Format.CSV);
+        assertThat(QuestionRecordParser.formatOf("bank.jsonl")).isEqualTo(QuestionRecordParser.Format.JSONL);
+    }
+
+    private QuestionRecordParser parser(QuestionRecordParser.Format format) {
+        return new QuestionRecordParser(format, objectMapper, objectMapper.readerFor(Question.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+    }
+
+    private static BankQuestion parse(QuestionRecordParser parser, String line) {
+        // Passed in a larger buffer, as MappedLineReader does
+        byte[] bytes = (line + "trailing garbage").getBytes(StandardCharsets.UTF_8);
+        return parser.parse(bytes, line.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private static boolean isHeader(QuestionRecordParser parser, String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        return parser.isHeader(bytes, bytes.length);
+    }
+}
@@ -0,0 +1,106 @@
+package com.saanya.quiz_app.concurrency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveLimitTests {
+
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(1);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private AdaptiveLimit limit;
+    private long windowStart;
+
+    @BeforeEach
+    void setUp() {
+        limit = new AdaptiveLimit(20, 5, 60, 1.5);
+        windowStart = System.nanoTime();
+    }
+
+    @Test
+    void growsWhileLatencyIsSteady() {
+        int previous = limit.getLimit();
+        for (int i = 0; i < 5; i++) {
+            fullWindow(FAST, false);
+            assertThat(limit.getLimit()).isGreaterThanOrEqualTo(previous);
+            previous = limit.getLimit();
+        }
+        assertThat(limit.getLimit()).isGreaterThan(20);
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        for (int i = 0; i < 3; i++) {
+            fullWindow(FAST, false);
+        }
+        int healthy = limit.getLimit();
+
+        for (int i = 0; i < 5; i++) {
+            fullWindow(SLOW, false);
+        }
+        assertThat(limit.getLimit()).isLessThan(healthy);
+    }
+
+    @Test
+    void dropCutsTheLimitByTenPercent() {
+        fullWindow(FAST, true);
+
+        assertThat(limit.getLimit()).isEqualTo(18);
+    }
+
+    @Test
+    void staysWithinMinAndMax() {
+        for (int i = 0; i < 100; i++) {
+            fullWindow(FAST, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(60);
+
+        for (int i = 0; i < 100; i++) {
+            fullWindow(FAST, true);
+        }
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void quietWindowsLeaveTheLimitAlone() {
+        // Far below the limit: says nothing about capacity
+        window(3, FAST, false);
+        window(12, SLOW, false);
+
+        assertThat(limit.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void rejectsRequestsOverTheLimit() {
+        for (int i = 0; i < 20; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.getInflight()).isEqualTo(20);
+    }
+
+    private void fullWindow(long latency, boolean drop) {
+        window(limit.getLimit(), latency, drop);
+    }
+
+    /**
+     * Admits {@code requests} at once and releases them within one window, the last one
+     * closing it. With {@code drop} the first request is released as dropped.
+     */
+    private void window(int requests, long latency, boolean drop) {
+        for (int i = 0; i < requests; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+        long windowEnd = windowStart + WINDOW;
+        for (int i = 0; i < requests; i++) {
+            long now = i == requests - 1 ? windowEnd : windowStart + 1;
+            limit.release(now - latency, drop && i == 0, now);
+        }
+        windowStart = windowEnd;
+    }
+}
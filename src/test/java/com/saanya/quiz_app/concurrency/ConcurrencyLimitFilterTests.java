@@ -0,0 +1,103 @@
+package com.saanya.quiz_app.concurrency;
+
+import com.saanya.quiz_app.metrics.QuizMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.timeout.ReadTimeoutException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimitFilterTests {
+
+    private final RecordingLimit generate = new RecordingLimit();
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+            Map.of("generate", generate), new QuizMetrics(new SimpleMeterRegistry()), 1);
+
+    @ParameterizedTest
+    @ValueSource(ints = {503, 504})
+    void overloadStatusesAreDrops(int status) throws Exception {
+        send((request, response) -> ((MockHttpServletResponse) response).setStatus(status));
+
+        assertThat(generate.drops).containsExactly(true);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {200, 400, 500})
+    void otherStatusesAreSamples(int status) throws Exception {
+        send((request, response) -> ((MockHttpServletResponse) response).setStatus(status));
+
+        assertThat(generate.drops).containsExactly(false);
+    }
+
+    @Test
+    void ordinaryExceptionsAreSamples() {
+        assertThatThrownBy(() -> send((request, response) -> {
+            throw new IllegalArgumentException("Bad category");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(generate.drops).containsExactly(false);
+    }
+
+    @Test
+    void timeoutsAreDrops() {
+        assertThatThrownBy(() -> send((request, response) -> {
+            throw new IllegalStateException("Timeout on blocking read", new TimeoutException());
+        })).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> send((request, response) -> {
+            throw new ServletException(new SocketTimeoutException("Read timed out"));
+        })).isInstanceOf(ServletException.class);
+
+        assertThat(generate.drops).containsExactly(true, true);
+        assertThat(ConcurrencyLimitFilter.isTimeout(new IOException("Connection reset"))).isFalse();
+        assertThat(ConcurrencyLimitFilter.isTimeout(new WebClientRequestException(
+                ReadTimeoutException.INSTANCE, HttpMethod.POST, URI.create("http://localhost"), new HttpHeaders()))).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/quiz/generate", "/api/quiz/gener%61te", "/api/quiz/generate;x=1", "/api//quiz/generate"})
+    void otherSpellingsOfAPathFallInItsGroup(String uri) {
+        assertThat(ConcurrencyLimitFilter.group(new MockHttpServletRequest("POST", uri))).isEqualTo("generate");
+    }
+
+    @Test
+    void questionBankCountsAsARead() {
+        assertThat(ConcurrencyLimitFilter.group(new MockHttpServletRequest("GET", "/api/quiz/ban%6b"))).isEqualTo("reads");
+    }
+
+    private void send(FilterChain chain) throws Exception {
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/quiz/generate"), new MockHttpServletResponse(), chain);
+    }
+
+    private static class RecordingLimit extends AdaptiveLimit {
+
+        final List<Boolean> drops = new ArrayList<>();
+
+        RecordingLimit() {
+            super(10, 1, 10, 1.5);
+        }
+
+        @Override
+        public void release(long startNanos, boolean drop) {
+            drops.add(drop);
+            super.release(startNanos, drop);
+        }
+    }
+}
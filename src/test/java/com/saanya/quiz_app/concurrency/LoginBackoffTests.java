@@ -0,0 +1,50 @@
+package com.saanya.quiz_app.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginBackoffTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final LoginBackoff backoff = new LoginBackoff(SECOND, 8 * SECOND, 1_000, 4);
+
+    @Test
+    void delayDoublesWithEachFailureUpToTheCap() {
+        long now = 1_000;
+        long[] expected = {1, 2, 4, 8, 8, 8};
+        for (long seconds : expected) {
+            backoff.recordFailure("alice", "10.0.0.1", now);
+            assertThat(backoff.remainingNanos("alice", "10.0.0.1", now)).isEqualTo(seconds * SECOND);
+        }
+        assertThat(backoff.remainingNanos("alice", "10.0.0.1", now + 8 * SECOND)).isZero();
+    }
+
+    @Test
+    void successResetsTheCount() {
+        long now = 1_000;
+        backoff.recordFailure("alice", "10.0.0.1", now);
+        backoff.recordFailure("alice", "10.0.0.1", now);
+        backoff.recordSuccess("alice", "10.0.0.1");
+
+        assertThat(backoff.remainingNanos("alice", "10.0.0.1", now)).isZero();
+        backoff.recordFailure("alice", "10.0.0.1", now);
+        assertThat(backoff.remainingNanos("alice", "10.0.0.1", now)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void failuresAreKeyedByAddressAndUsername() {
+        long now = 1_000;
+        backoff.recordFailure("alice", "10.0.0.1", now);
+
+        assertThat(backoff.remainingNanos("alice", "10.0.0.1", now)).isPositive();
+        // The owner logging in from elsewhere is not delayed, nor is another user from the same address
+        assertThat(backoff.remainingNanos("alice", "10.0.0.2", now)).isZero();
+        assertThat(backoff.remainingNanos("bob", "10.0.0.1", now)).isZero();
+        // A newline in the username cannot forge another address's key
+        assertThat(backoff.remainingNanos("x\nalice", "10.0.0.1", now)).isZero();
+    }
+}
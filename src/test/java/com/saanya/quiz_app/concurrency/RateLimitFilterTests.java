@@ -0,0 +1,52 @@
+package com.saanya.quiz_app.concurrency;
+
+import com.saanya.quiz_app.metrics.QuizMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTests {
+
+    private final RateLimitFilter filter = new RateLimitFilter(
+            Map.of("POST /api/quiz/generate", new SlidingWindowRateLimiter(1, TimeUnit.MINUTES.toNanos(1), 100, 1)),
+            Map.of("POST /api/quiz/generate", "generate"),
+            new QuizMetrics(new SimpleMeterRegistry()));
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/quiz/generate;x=1", "/api/quiz/gener%61te", "/api//quiz/generate"})
+    void otherSpellingsOfTheSamePathShareItsLimit(String uri) throws Exception {
+        assertThat(send("/api/quiz/generate")).isEqualTo(200);
+        assertThat(send(uri)).isEqualTo(429);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/quiz/generate;x=1", "/api/quiz/gener%61te"})
+    void limitAppliesWhicheverSpellingComesFirst(String uri) throws Exception {
+        assertThat(send(uri)).isEqualTo(200);
+        assertThat(send("/api/quiz/generate")).isEqualTo(429);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/quiz/bank", "/api/streaks/leaderboard"})
+    void otherEndpointsAreNotLimited(String uri) throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(send(uri)).isEqualTo(200);
+        }
+    }
+
+    private int send(String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
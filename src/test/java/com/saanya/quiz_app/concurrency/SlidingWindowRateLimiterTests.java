@@ -0,0 +1,70 @@
+package com.saanya.quiz_app.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowRateLimiterTests {
+
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(60);
+
+    private final SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(10, WINDOW, 1_000, 4);
+
+    @Test
+    void allowsUpToTheLimitAndReportsTheWaitAfter() {
+        long start = 1_000;
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire("1.2.3.4", 1, start)).isZero();
+        }
+        long later = start + TimeUnit.SECONDS.toNanos(15);
+        assertThat(limiter.tryAcquire("1.2.3.4", 1, later)).isEqualTo(WINDOW - TimeUnit.SECONDS.toNanos(15));
+        // Other keys have their own window
+        assertThat(limiter.tryAcquire("5.6.7.8", 1, later)).isZero();
+    }
+
+    @Test
+    void previousWindowCountsByItsOverlap() {
+        long start = 1_000;
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire("k", 1, start);
+        }
+        // A quarter into the next window, 75% of the previous 10 still count: 7.5 + 2 < 10, 7.5 + 3 >= 10
+        long quarter = start + WINDOW + WINDOW / 4;
+        assertThat(limiter.tryAcquire("k", 1, quarter)).isZero();
+        assertThat(limiter.tryAcquire("k", 1, quarter)).isZero();
+        assertThat(limiter.tryAcquire("k", 1, quarter)).isZero();
+        assertThat(limiter.tryAcquire("k", 1, quarter)).isPositive();
+    }
+
+    @Test
+    void windowsOlderThanTheLastOneAreForgotten() {
+        long start = 1_000;
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire("k", 1, start);
+        }
+        assertThat(limiter.tryAcquire("k", 1, start + 1)).isPositive();
+
+        long twoWindowsLater = start + 2 * WINDOW;
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire("k", 1, twoWindowsLater)).isZero();
+        }
+    }
+
+    @Test
+    void multiplePermitsAreTakenAllOrNone() {
+        long now = 1_000;
+        assertThat(limiter.tryAcquire("k", 8, now)).isZero();
+        // 3 more would make 11: refused, and nothing is taken
+        assertThat(limiter.tryAcquire("k", 3, now)).isPositive();
+        assertThat(limiter.tryAcquire("k", 2, now)).isZero();
+        assertThat(limiter.tryAcquire("k", 1, now)).isPositive();
+    }
+
+    @Test
+    void moreThanTheLimitAtOnceIsNeverAllowed() {
+        assertThat(limiter.tryAcquire("k", 11, 1_000)).isPositive();
+        assertThat(limiter.tryAcquire("k", 10, 1_000)).isZero();
+    }
+}
@@ -0,0 +1,158 @@
+package com.saanya.quiz_app.config;
+
+import com.saanya.quiz_app.dto.LeaderboardEntry;
+import com.saanya.quiz_app.dto.LoginRequest;
+import com.saanya.quiz_app.dto.RegisterRequest;
+import com.saanya.quiz_app.dto.StreakHistory;
+import com.saanya.quiz_app.dto.StreakRequest;
+import com.saanya.quiz_app.dto.UserResponse;
+import com.saanya.quiz_app.service.AuthService;
+import com.saanya.quiz_app.service.StreakService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Primary and replica are two separate in-memory H2 databases. Nothing replicates on its
+ * own: the replica keeps the state of the last {@link #replicate()} call, which simulates
+ * a replica that lags behind until it catches up.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadWriteRoutingTests.PRIMARY_URL,
+        "quiz.datasource.replica.url=" + ReadWriteRoutingTests.REPLICA_URL,
+        "quiz.datasource.replica.username=sa",
+        "quiz.datasource.replica.password=",
+        "quiz.datasource.replica.driver-class-name=org.h2.Driver",
+        "quiz.datasource.read-your-writes-window=1s",
+        // Leaderboard and highest-streak reads must reach the database to show the routing
+        "quiz.outbox.enabled=false"
+})
+@ActiveProfiles("h2")
+class ReadWriteRoutingTests {
+
+    static final String PRIMARY_URL =
+            "jdbc:h2:mem:routing-primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL =
+            "jdbc:h2:mem:routing-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private StreakService streakService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void catchUpReplica() throws SQLException {
+        replicate();
+    }
+
+    @Test
+    void leaderboardReadsFromReplicaUntilItCatchesUp() throws SQLException {
+        UserResponse user = register();
+        streakService.saveStreak(streak(user.getId(), 17));
+
+        assertThat(streakService.getLeaderboard(1000))
+                .extracting(LeaderboardEntry::getUsername)
+                .doesNotContain(user.getUsername());
+
+        replicate();
+
+        assertThat(streakService.getLeaderboard(1000))
+                .extracting(LeaderboardEntry::getUsername)
+                .contains(user.getUsername());
+    }
+
+    @Test
+    void userReadsTheirOwnStreakRightAfterSaving() throws SQLException {
+        UserResponse user = register();
+        replicate();
+
+        streakService.saveStreak(streak(user.getId(), 9));
+
+        assertThat(streakService.getUserStreakHistory(user.getId()))
+                .extracting(StreakHistory::getStreakCount)
+                .containsExactly(9);
+        assertThat(streakService.getHighestStreak(user.getId())).isEqualTo(9);
+    }
+
+    @Test
+    void historyGoesBackToReplicaAfterReadYourWritesWindow() throws Exception {
+        UserResponse user = register();
+        replicate();
+
+        streakService.saveStreak(streak(user.getId(), 4));
+        Thread.sleep(1_100);
+
+        // Window over: served by the replica, which has not seen the streak yet
+        assertThat(streakService.getUserStreakHistory(user.getId())).isEmpty();
+
+        replicate();
+
+        assertThat(streakService.getUserStreakHistory(user.getId()))
+                .extracting(StreakHistory::getStreakCount)
+                .containsExactly(4);
+    }
+
+    @Test
+    void loginRightAfterRegisterFallsBackToPrimary() {
+        UserResponse user = register();
+
+        LoginRequest login = new LoginRequest();
+        login.setUsername(user.getUsername());
+        login.setPassword("password123");
+
+        assertThat(authService.login(login, "127.0.0.1").getId()).isEqualTo(user.getId());
+    }
+
+    /**
+     * Copies the primary's current schema and data over the replica.
+     */
+    private void replicate() throws SQLException {
+        String script = tempDir.resolve("replication-" + UUID.randomUUID() + ".sql").toString();
+        try (Connection connection = primaryDataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SCRIPT TO '" + script + "'");
+        }
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("RUNSCRIPT FROM '" + script + "'");
+        }
+    }
+
+    private UserResponse register() {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername("user-" + UUID.randomUUID().toString().substring(0, 8));
+        request.setPassword("password123");
+        return authService.register(request);
+    }
+
+    private static StreakRequest streak(Long userId, int count) {
+        StreakRequest request = new StreakRequest();
+        request.setUserId(userId);
+        request.setStreakCount(count);
+        request.setCategory("Science");
+        return request;
+    }
+}
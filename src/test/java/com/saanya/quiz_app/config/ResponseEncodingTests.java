@@ -0,0 +1,113 @@
+package com.saanya.quiz_app.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.saanya.quiz_app.dto.RegisterRequest;
+import com.saanya.quiz_app.dto.StreakHistory;
+import com.saanya.quiz_app.dto.StreakRequest;
+import com.saanya.quiz_app.service.AuthService;
+import com.saanya.quiz_app.service.StreakService;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class ResponseEncodingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private StreakService streakService;
+
+    private final CorsConfig config = new CorsConfig();
+
+    @ParameterizedTest
+    @CsvSource({"application/x-jackson-smile, smile", "application/cbor, cbor"})
+    void binaryEncodingsRoundTripStreakHistory(String accept, String format) throws Exception {
+        Long userId = register();
+        save(userId, 3, "Science");
+        save(userId, 7, "History");
+        List<StreakHistory> history = streakService.getUserStreakHistory(userId);
+
+        MvcResult result = fetch(userId, accept);
+        assertThat(result.getResponse().getContentType()).isEqualTo(accept);
+        byte[] body = result.getResponse().getContentAsByteArray();
+
+        // The mixin writes playedAt as a number array instead of the JSON string pattern
+        ObjectMapper plain = new ObjectMapper("smile".equals(format) ? new SmileFactory() : new CBORFactory());
+        JsonNode first = plain.readTree(body).get(0);
+        assertThat(first.get("playedAt").isArray()).isTrue();
+        assertThat(first.get("playedAt").get(0).asInt()).isEqualTo(history.get(0).getPlayedAt().getYear());
+
+        ObjectMapper mapper = "smile".equals(format) ? config.smileMapper() : config.cborMapper();
+        StreakHistory[] decoded = mapper.readValue(body, StreakHistory[].class);
+        // Millisecond precision, as the array's last element is milliseconds
+        assertThat(decoded).hasSize(2);
+        for (int i = 0; i < decoded.length; i++) {
+            assertThat(decoded[i].getStreakCount()).isEqualTo(history.get(i).getStreakCount());
+            assertThat(decoded[i].getPlayedAt()).isEqualTo(history.get(i).getPlayedAt().truncatedTo(ChronoUnit.MILLIS));
+        }
+        assertThat(decoded).extracting(StreakHistory::getCategory).containsExactly("History", "Science");
+    }
+
+    @ParameterizedTest
+    @CsvSource({"*/*", "application/json"})
+    void jsonStaysTheDefault(String accept) throws Exception {
+        Long userId = register();
+        save(userId, 4, "Science");
+
+        MvcResult result = fetch(userId, accept);
+
+        assertThat(result.getResponse().getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(objectMapper.readTree(result.getResponse().getContentAsByteArray()).get(0).get("playedAt").isTextual())
+                .isTrue();
+    }
+
+    private MvcResult fetch(Long userId, String accept) throws Exception {
+        return mockMvc.perform(get("/api/streaks/user/{userId}", userId).header("Accept", accept))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private Long register() {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername("user-" + UUID.randomUUID().toString().substring(0, 8));
+        request.setPassword("password123");
+        return authService.register(request).getId();
+    }
+
+    private void save(Long userId, int count, String category) throws InterruptedException {
+        StreakRequest request = new StreakRequest();
+        request.setUserId(userId);
+        request.setStreakCount(count);
+        request.setCategory(category);
+        streakService.saveStreak(request);
+        // Distinct playedAt, so the newest-first order is fixed
+        Thread.sleep(5);
+    }
+}
@@ -0,0 +1,174 @@
+package com.saanya.quiz_app.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process stand-in for the Gemini {@code generateContent} endpoint.
+ *
+ * Every request sleeps for {@code latencyMs} plus up to {@code jitterMs}, fails with a
+ * 503 with probability {@code errorRate}, and otherwise answers with one of the payload
+ * kinds picked by weight: {@code valid}, {@code fenced} (markdown-wrapped JSON),
+ * {@code safety} (filtered, no content) or {@code truncated} (cut off by MAX_TOKENS).
+ */
+public class GeminiStub implements AutoCloseable {
+
+    private static final List<String[]> QUESTIONS = List.of(
+            new String[]{"Which planet has the shortest day?", "Earth", "Jupiter", "Mars", "Venus", "1"},
+            new String[]{"What is the chemical symbol for gold?", "Ag", "Au", "Gd", "Go", "1"},
+            new String[]{"Who wrote 'Pride and Prejudice'?", "Jane Austen", "Emily Bronte", "Mary Shelley", "George Eliot", "0"},
+            new String[]{"Which ocean is the largest?", "Atlantic", "Indian", "Arctic", "Pacific", "3"},
+            new String[]{"How many sides does a hexagon have?", "5", "6", "7", "8", "1"}
+    );
+
+    private static final String ERROR_BODY =
+            "{\"error\":{\"code\":503,\"message\":\"The model is overloaded. Please try again later.\",\"status\":\"UNAVAILABLE\"}}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double errorRate;
+    private final String[] kinds;
+    private final int[] cumulativeWeights;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    private GeminiStub(long latencyMs, long jitterMs, double errorRate, Map<String, Integer> payloadWeights) throws IOException {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.errorRate = errorRate;
+
+        this.kinds = payloadWeights.keySet().toArray(new String[0]);
+        this.cumulativeWeights = new int[kinds.length];
+        int total = 0;
+        for (int i = 0; i < kinds.length; i++) {
+            total += payloadWeights.get(kinds[i]);
+            cumulativeWeights[i] = total;
+        }
+
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        this.executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * @param payloadWeights e.g. {@code valid:90,fenced:5,safety:3,truncated:2}
+     */
+    public static GeminiStub start(long latencyMs, long jitterMs, double errorRate, String payloadWeights) throws IOException {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : payloadWeights.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        return new GeminiStub(latencyMs, jitterMs, errorRate, weights);
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1beta/models/gemini-2.5-flash:generateContent";
+    }
+
+    public long requests() {
+        return requests.sum();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try (InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = latencyMs + (jitterMs > 0 ? random.nextLong(jitterMs + 1) : 0);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        int status = 200;
+        String response;
+        if (random.nextDouble() < errorRate) {
+            errors.increment();
+            status = 503;
+            response = ERROR_BODY;
+        } else {
+            response = payload(pickKind(random), random);
+        }
+
+        byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private String pickKind(ThreadLocalRandom random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < kinds.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return kinds[i];
+            }
+        }
+        return kinds[kinds.length - 1];
+    }
+
+    private String payload(String kind, ThreadLocalRandom random) throws IOException {
+        String[] q = QUESTIONS.get(random.nextInt(QUESTIONS.size()));
+        String questionJson = "{\"question\":" + objectMapper.writeValueAsString(q[0])
+                + ",\"options\":" + objectMapper.writeValueAsString(List.of(q[1], q[2], q[3], q[4]))
+                + ",\"correctIndex\":" + q[5] + "}";
+
+        switch (kind) {
+            case "safety":
+                return "{\"candidates\":[{\"finishReason\":\"SAFETY\",\"index\":0,\"safetyRatings\":["
+                        + "{\"category\":\"HARM_CATEGORY_DANGEROUS_CONTENT\",\"probability\":\"HIGH\",\"blocked\":true}]}],"
+                        + "\"usageMetadata\":{\"promptTokenCount\":141,\"totalTokenCount\":141},"
+                        + "\"modelVersion\":\"gemini-2.5-flash\"}";
+            case "truncated":
+                return envelope(questionJson.substring(0, questionJson.length() / 2), "MAX_TOKENS");
+            case "fenced":
+                return envelope("Here is a short question for you:\n```json\n" + questionJson + "\n```\n", "STOP");
+            default:
+                return envelope(questionJson, "STOP");
+        }
+    }
+
+    private String envelope(String text, String finishReason) throws IOException {
+        return "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":" + objectMapper.writeValueAsString(text)
+                + "}],\"role\":\"model\"},\"finishReason\":\"" + finishReason + "\",\"index\":0}],"
+                + "\"usageMetadata\":{\"promptTokenCount\":142,\"candidatesTokenCount\":38,\"totalTokenCount\":612,"
+                + "\"thoughtsTokenCount\":432},\"modelVersion\":\"gemini-2.5-flash\"}";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,318 @@
+package com.saanya.quiz_app.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saanya.quiz_app.QuizAppApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * End-to-end load test: boots the application under the {@code h2} profile against a
+ * {@link GeminiStub}, then drives a mix of traffic from concurrent virtual users and
+ * reports throughput and latency percentiles per endpoint.
+ *
+ * Run with {@code ./mvnw -Ploadtest test-compile exec:java}. All settings are system
+ * properties, e.g. {@code -Dloadtest.users=100 -Dloadtest.duration=120 -Dstub.latencyMs=800}.
+ * Full HdrHistogram percentile distributions are written to {@code target/loadtest}.
+ *
+ * Each virtual user waits for its response before sending the next request (a closed
+ * model), so latencies under saturation are understated relative to an open arrival rate.
+ */
+public class LoadTestRunner {
+
+    private static final String[] CATEGORIES = {
+            "Science", "History", "Sports", "Geography", "Mathematics", "Entertainment", "Literature", "Technology"
+    };
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+    private final String baseUrl;
+    private final int users;
+    private final long warmupMillis;
+    private final long durationMillis;
+    private final long thinkTimeMillis;
+    private final String[] actions;
+    private final int[] cumulativeWeights;
+
+    private volatile boolean recording;
+
+    LoadTestRunner(String baseUrl, int users, long warmupMillis, long durationMillis, long thinkTimeMillis,
+                   Map<String, Integer> mix) {
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.warmupMillis = warmupMillis;
+        this.durationMillis = durationMillis;
+        this.thinkTimeMillis = thinkTimeMillis;
+
+        this.actions = mix.keySet().toArray(new String[0]);
+        this.cumulativeWeights = new int[actions.length];
+        int total = 0;
+        for (int i = 0; i < actions.length; i++) {
+            total += mix.get(actions[i]);
+            cumulativeWeights[i] = total;
+        }
+
+        for (String endpoint : List.of("register", "login", "generate", "save", "leaderboard", "history")) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 50);
+        long warmup = Long.getLong("loadtest.warmup", 15);
+        long duration = Long.getLong("loadtest.duration", 60);
+        long thinkTime = Long.getLong("loadtest.thinkTimeMs", 0);
+        String mix = System.getProperty("loadtest.mix", "generate:30,save:20,leaderboard:25,history:15,login:5,register:5");
+        String profiles = System.getProperty("loadtest.profiles", "h2");
+
+        long stubLatency = Long.getLong("stub.latencyMs", 300);
+        long stubJitter = Long.getLong("stub.jitterMs", 200);
+        double stubErrorRate = Double.parseDouble(System.getProperty("stub.errorRate", "0.02"));
+        String stubPayloads = System.getProperty("stub.payloads", "valid:90,fenced:5,safety:3,truncated:2");
+
+        try (GeminiStub stub = GeminiStub.start(stubLatency, stubJitter, stubErrorRate, stubPayloads);
+             ConfigurableApplicationContext app = new SpringApplicationBuilder(QuizAppApplication.class)
+                     .profiles(profiles.split(","))
+                     // Command-line arguments: properties() only sets defaults, which application.properties overrides
+                     .run(withArgs(args,
+                             "--server.port=0",
+                             "--gemini.api.url=" + stub.url(),
+                             "--gemini.api.key=load-test",
+                             // Every virtual user shares one IP here
+                             "--quiz.rate-limits.enabled=false"))) {
+
+            int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            System.out.printf("App on port %d (profiles %s), Gemini stub at %s%n", port, profiles, stub.url());
+            System.out.printf("Stub: latency %d+%dms, error rate %.2f, payloads %s%n",
+                    stubLatency, stubJitter, stubErrorRate, stubPayloads);
+
+            LoadTestRunner runner = new LoadTestRunner("http://localhost:" + port + "/api", users,
+                    TimeUnit.SECONDS.toMillis(warmup), TimeUnit.SECONDS.toMillis(duration), thinkTime, parseWeights(mix));
+            runner.run();
+            runner.report(Path.of("target", "loadtest"));
+            System.out.printf("Gemini stub served %d requests (%d injected errors)%n", stub.requests(), stub.errors());
+        }
+    }
+
+    void run() throws InterruptedException {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        long start = System.currentTimeMillis();
+        long measureStart = start + warmupMillis;
+        long deadline = measureStart + durationMillis;
+
+        CountDownLatch done = new CountDownLatch(users);
+        List<Thread> threads = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            String username = "vu" + i + "-" + runId;
+            Thread thread = new Thread(() -> {
+                try {
+                    virtualUser(username, deadline);
+                } finally {
+                    done.countDown();
+                }
+            }, "vu-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+        }
+
+        System.out.printf("Starting %d virtual users: %ds warmup, %ds measured%n",
+                users, warmupMillis / 1000, durationMillis / 1000);
+        threads.forEach(Thread::start);
+
+        Thread.sleep(Math.max(0, measureStart - System.currentTimeMillis()));
+        stats.values().forEach(EndpointStats::reset);
+        recording = true;
+        long measuredFrom = System.nanoTime();
+
+        done.await();
+        recording = false;
+        double seconds = (System.nanoTime() - measuredFrom) / 1e9;
+        stats.values().forEach(s -> s.elapsedSeconds = seconds);
+    }
+
+    private void virtualUser(String username, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String credentials = "{\"username\":\"" + username + "\",\"password\":\"password123\"}";
+
+        // Usually during warmup, so not what the register row measures; see the register action
+        JsonNode registered = call("register", "POST", "/auth/register", credentials);
+        if (registered == null || !registered.has("id")) {
+            return;
+        }
+        long userId = registered.get("id").asLong();
+        int extraAccounts = 0;
+
+        while (System.currentTimeMillis() < deadline) {
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            switch (pickAction(random)) {
+                case "generate" -> call("generate", "POST", "/quiz/generate",
+                        "{\"category\":\"" + category + "\"}");
+                case "save" -> call("save", "POST", "/streaks/save",
+                        "{\"userId\":" + userId + ",\"streakCount\":" + random.nextInt(30) + ",\"category\":\"" + category + "\"}");
+                case "leaderboard" -> call("leaderboard", "GET", "/streaks/leaderboard?limit=10", null);
+                case "history" -> call("history", "GET", "/streaks/user/" + userId, null);
+                case "login" -> call("login", "POST", "/auth/login", credentials);
+                // A new account each time; the virtual user keeps playing as its first one
+                case "register" -> call("register", "POST", "/auth/register",
+                        "{\"username\":\"" + username + "-" + (++extraAccounts) + "\",\"password\":\"password123\"}");
+                default -> throw new IllegalStateException("Unknown action");
+            }
+
+            if (thinkTimeMillis > 0) {
+                try {
+                    Thread.sleep(thinkTimeMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private JsonNode call(String endpoint, String method, String path, String body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json");
+        request = body == null
+                ? request.GET()
+                : request.method(method, HttpRequest.BodyPublishers.ofString(body));
+
+        long started = System.nanoTime();
+        boolean ok = false;
+        String responseBody = null;
+        try {
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            ok = response.statusCode() < 400;
+            responseBody = response.body();
+        } catch (IOException e) {
+            ok = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started);
+
+        if (recording) {
+            stats.get(endpoint).record(micros, ok);
+        }
+
+        if (!ok || responseBody == null || responseBody.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(responseBody);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private String pickAction(ThreadLocalRandom random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < actions.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return actions[i];
+            }
+        }
+        return actions[actions.length - 1];
+    }
+
+    void report(Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+
+        System.out.println();
+        System.out.printf("%-12s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long totalErrors = 0;
+        double seconds = 0;
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats s = entry.getValue();
+            Histogram histogram = s.histogram.copy();
+            total.add(histogram);
+            totalErrors += s.errors.sum();
+            seconds = s.elapsedSeconds;
+            printRow(entry.getKey(), histogram, s.errors.sum(), s.elapsedSeconds);
+
+            try (PrintStream out = new PrintStream(Files.newOutputStream(outputDir.resolve(entry.getKey() + ".hgrm")))) {
+                // Values are recorded in microseconds; scale the report to milliseconds
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        printRow("TOTAL", total, totalErrors, seconds);
+        System.out.println("Percentile distributions written to " + outputDir.toAbsolutePath());
+    }
+
+    private static void printRow(String name, Histogram histogram, long errors, double seconds) {
+        long count = histogram.getTotalCount();
+        System.out.printf("%-12s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                count,
+                errors,
+                seconds > 0 ? count / seconds : 0,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    static String[] withArgs(String[] args, String... settings) {
+        String[] all = Arrays.copyOf(settings, settings.length + args.length);
+        System.arraycopy(args, 0, all, settings.length, args.length);
+        return all;
+    }
+
+    private static Map<String, Integer> parseWeights(String spec) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        return weights;
+    }
+
+    private static class EndpointStats {
+        final ConcurrentHistogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+        volatile double elapsedSeconds;
+
+        void record(long micros, boolean ok) {
+            histogram.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+            if (!ok) {
+                errors.increment();
+            }
+        }
+
+        void reset() {
+            histogram.reset();
+            errors.reset();
+        }
+    }
+}
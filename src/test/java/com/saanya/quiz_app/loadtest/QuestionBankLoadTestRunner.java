@@ -0,0 +1,116 @@
+package com.saanya.quiz_app.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saanya.quiz_app.QuizAppApplication;
+import com.saanya.quiz_app.bank.ImportReport;
+import com.saanya.quiz_app.bank.QuestionBankImporter;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Import benchmark: writes a synthetic question bank of {@code loadtest.bankSizeMb}
+ * megabytes (JSON lines, or CSV with {@code -Dloadtest.bankFormat=csv}), imports it into a
+ * file-backed H2 database under {@code target/loadtest} and prints records/sec and peak
+ * heap. Roughly 1 in {@code loadtest.bankDuplicateEvery} records repeats an earlier one
+ * and 1 in 1000 is invalid, so the dedup and rejection paths are exercised too.
+ *
+ * Run with {@code ./mvnw -Ploadtest test-compile exec:java -Dloadtest.main=com.saanya.quiz_app.loadtest.QuestionBankLoadTestRunner}.
+ * The database is file-backed so that imported rows do not count towards the heap figure.
+ * An existing file of the requested size and format is reused.
+ */
+public class QuestionBankLoadTestRunner {
+
+    private static final String[] CATEGORIES = {
+            "Science", "History", "Sports", "Geography", "Mathematics", "Entertainment", "Literature", "Technology"
+    };
+
+    private static final String[] WORDS = {
+            "planet", "river", "empire", "element", "novel", "league", "theorem", "composer",
+            "island", "protocol", "mountain", "dynasty", "orbit", "poem", "circuit", "painter"
+    };
+
+    public static void main(String[] args) throws Exception {
+        long sizeMb = Long.getLong("loadtest.bankSizeMb", 2048);
+        String format = System.getProperty("loadtest.bankFormat", "jsonl");
+        int duplicateEvery = Integer.getInteger("loadtest.bankDuplicateEvery", 20);
+        String threads = System.getProperty("quiz.import.threads", "0");
+
+        Path dir = Path.of("target", "loadtest");
+        Files.createDirectories(dir);
+        Path file = dir.resolve("question-bank-" + sizeMb + "mb." + format);
+        if (!Files.exists(file)) {
+            long written = generate(file, sizeMb * 1024 * 1024, "csv".equals(format), duplicateEvery);
+            System.out.printf("Generated %s with %d records%n", file, written);
+        }
+
+        // A fresh database each run, so every record counts as new (apart from the planted duplicates)
+        Path db = dir.resolve("bank-" + System.currentTimeMillis());
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(QuizAppApplication.class)
+                .profiles("h2")
+                // Command-line arguments: properties() only sets defaults, which application.properties overrides
+                .run(LoadTestRunner.withArgs(args,
+                        "--spring.main.web-application-type=none",
+                        "--spring.datasource.url=jdbc:h2:file:" + db.toAbsolutePath()
+                                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                        "--quiz.import.threads=" + threads,
+                        "--logging.level.com.saanya.quiz_app=INFO",
+                        "--spring.jpa.show-sql=false"))) {
+
+            ImportReport report = app.getBean(QuestionBankImporter.class).importFile(file);
+            System.out.println();
+            System.out.println(report.summary());
+            System.out.printf("Max heap %.1f MB, %d cores%n",
+                    Runtime.getRuntime().maxMemory() / 1048576.0, Runtime.getRuntime().availableProcessors());
+            report.sampleErrors().stream().limit(5).forEach(error -> System.out.println("  rejected " + error));
+        }
+    }
+
+    private static long generate(Path file, long targetBytes, boolean csv, int duplicateEvery) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder line = new StringBuilder(256);
+        long bytes = 0;
+        long records = 0;
+
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (csv) {
+                out.write("category,question,correctIndex,option1,option2,option3,option4\n");
+            }
+            while (bytes < targetBytes) {
+                // Repeats reuse an earlier record number, so they hash the same
+                long id = records > 0 && random.nextInt(duplicateEvery) == 0 ? random.nextLong(records) : records;
+                String category = CATEGORIES[(int) (id % CATEGORIES.length)];
+                String question = "Question " + id + ": which " + WORDS[(int) (id % WORDS.length)]
+                        + " is described by clue " + Long.toHexString(id * 2654435761L) + "?";
+                List<String> options = List.of("Option A" + id, "Option B" + id, "Option C" + id, "Option D" + id);
+                int correctIndex = records % 1000 == 999 ? 7 : (int) (id % 4);
+
+                line.setLength(0);
+                if (csv) {
+                    line.append(category).append(",\"").append(question).append("\",").append(correctIndex);
+                    for (String option : options) {
+                        line.append(',').append(option);
+                    }
+                } else {
+                    line.append("{\"category\":\"").append(category)
+                            .append("\",\"question\":").append(objectMapper.writeValueAsString(question))
+                            .append(",\"options\":").append(objectMapper.writeValueAsString(options))
+                            .append(",\"correctIndex\":").append(correctIndex).append('}');
+                }
+                line.append('\n');
+                out.append(line);
+                bytes += line.length();
+                records++;
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,349 @@
+package com.saanya.quiz_app.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saanya.quiz_app.QuizAppApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load test for multiplayer rooms: boots the application under the {@code h2} profile
+ * against a {@link GeminiStub}, then keeps {@code loadtest.rooms} rooms of
+ * {@code loadtest.roomPlayers} players busy over {@code /ws/rooms}. Every player
+ * answers each question as soon as it arrives, and a new game starts as soon as the
+ * previous one finishes.
+ *
+ * Run with {@code ./mvnw -Ploadtest test-compile exec:java -Dloadtest.main=com.saanya.quiz_app.loadtest.RoomLoadTestRunner}.
+ * Reports completed rooms and WebSocket messages per second, overall and per core,
+ * plus the spread between the first and last player receiving the same question and
+ * the answer-to-result latency. Clients run in the same JVM, so per-core figures
+ * include the client side.
+ */
+public class RoomLoadTestRunner {
+
+    private static final String[] CATEGORIES = {"Science", "History", "Sports", "Geography"};
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private final String baseUrl;
+    private final String wsUrl;
+    private final int rooms;
+    private final int playersPerRoom;
+    private final int rounds;
+
+    private final LongAdder gamesCompleted = new LongAdder();
+    private final LongAdder gamesFailed = new LongAdder();
+    private final LongAdder messagesSent = new LongAdder();
+    private final LongAdder messagesReceived = new LongAdder();
+    private final ConcurrentHistogram broadcastSpread = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final ConcurrentHistogram answerToResult = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+
+    private volatile boolean recording;
+
+    RoomLoadTestRunner(int port, int rooms, int playersPerRoom, int rounds) {
+        this.baseUrl = "http://localhost:" + port + "/api";
+        this.wsUrl = "ws://localhost:" + port + "/ws/rooms";
+        this.rooms = rooms;
+        this.playersPerRoom = playersPerRoom;
+        this.rounds = rounds;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rooms = Integer.getInteger("loadtest.rooms", 50);
+        int players = Integer.getInteger("loadtest.roomPlayers", 4);
+        int rounds = Integer.getInteger("loadtest.rounds", 5);
+        long warmup = Long.getLong("loadtest.warmup", 10);
+        long duration = Long.getLong("loadtest.duration", 30);
+        String profiles = System.getProperty("loadtest.profiles", "h2");
+
+        // Generation is not what is measured here, so the stub answers fast and without errors
+        long stubLatency = Long.getLong("stub.latencyMs", 20);
+        try (GeminiStub stub = GeminiStub.start(stubLatency, 0, 0, "valid:100");
+             ConfigurableApplicationContext app = new SpringApplicationBuilder(QuizAppApplication.class)
+                     .profiles(profiles.split(","))
+                     // Command-line arguments: properties() only sets defaults, which application.properties overrides
+                     .run(LoadTestRunner.withArgs(args,
+                             "--server.port=0",
+                             "--gemini.api.url=" + stub.url(),
+                             "--gemini.api.key=load-test",
+                             // Every virtual user shares one IP here
+                             "--quiz.rate-limits.enabled=false",
+                             // All rooms start at once; shedding their generation is not what is measured
+                             "--quiz.limits.generate.initial=100000",
+                             "--quiz.limits.generate.max=100000",
+                             "--quiz.rooms.result-pause-ms=0",
+                             "--quiz.rooms.max-players=" + players))) {
+
+            int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            int cores = Runtime.getRuntime().availableProcessors();
+            System.out.printf("App on port %d (profiles %s), %d cores%n", port, profiles, cores);
+
+            RoomLoadTestRunner runner = new RoomLoadTestRunner(port, rooms, players, rounds);
+            runner.run(TimeUnit.SECONDS.toMillis(warmup), TimeUnit.SECONDS.toMillis(duration));
+        }
+    }
+
+    void run(long warmupMillis, long durationMillis) throws Exception {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        List<List<Player>> tables = new ArrayList<>(rooms);
+        for (int r = 0; r < rooms; r++) {
+            List<Player> table = new ArrayList<>(playersPerRoom);
+            for (int p = 0; p < playersPerRoom; p++) {
+                table.add(connect(register("r" + r + "p" + p + "-" + runId)));
+            }
+            tables.add(table);
+        }
+        System.out.printf("Connected %d rooms x %d players, %d rounds per game: %ds warmup, %ds measured%n",
+                rooms, playersPerRoom, rounds, warmupMillis / 1000, durationMillis / 1000);
+
+        long deadline = System.currentTimeMillis() + warmupMillis + durationMillis;
+        CountDownLatch done = new CountDownLatch(rooms);
+        for (int r = 0; r < rooms; r++) {
+            List<Player> table = tables.get(r);
+            Thread thread = new Thread(() -> {
+                try {
+                    while (System.currentTimeMillis() < deadline) {
+                        playGame(table);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "room-driver-" + r);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        Thread.sleep(warmupMillis);
+        gamesCompleted.reset();
+        gamesFailed.reset();
+        messagesSent.reset();
+        messagesReceived.reset();
+        broadcastSpread.reset();
+        answerToResult.reset();
+        recording = true;
+        long measuredFrom = System.nanoTime();
+
+        done.await();
+        recording = false;
+        double seconds = (System.nanoTime() - measuredFrom) / 1e9;
+
+        for (List<Player> table : tables) {
+            for (Player player : table) {
+                player.socket.sendClose(WebSocket.NORMAL_CLOSURE, "done");
+            }
+        }
+        report(seconds, Path.of("target", "loadtest"));
+    }
+
+    private void playGame(List<Player> table) {
+        Player host = table.get(0);
+        String category = CATEGORIES[ThreadLocalRandom.current().nextInt(CATEGORIES.length)];
+        for (Player player : table) {
+            player.reset();
+        }
+
+        try {
+            host.send("{\"type\":\"create\",\"userId\":" + host.userId + ",\"category\":\"" + category
+                    + "\",\"rounds\":" + rounds + "}");
+            String roomId = host.joined.get(10, TimeUnit.SECONDS);
+            for (Player player : table.subList(1, table.size())) {
+                player.send("{\"type\":\"join\",\"userId\":" + player.userId + ",\"roomId\":\"" + roomId + "\"}");
+                player.joined.get(10, TimeUnit.SECONDS);
+            }
+            host.send("{\"type\":\"start\"}");
+            for (Player player : table) {
+                if (!player.finished.await(60, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Game did not finish");
+                }
+            }
+        } catch (Exception e) {
+            if (recording) {
+                gamesFailed.increment();
+            }
+            for (Player player : table) {
+                player.send("{\"type\":\"leave\"}");
+            }
+            return;
+        }
+
+        if (recording) {
+            gamesCompleted.increment();
+            for (int i = 0; i < rounds; i++) {
+                long first = Long.MAX_VALUE;
+                long last = Long.MIN_VALUE;
+                for (Player player : table) {
+                    first = Math.min(first, player.questionReceivedAt[i]);
+                    last = Math.max(last, player.questionReceivedAt[i]);
+                }
+                if (first == 0) {
+                    // Round dropped because the stub repeated a question
+                    continue;
+                }
+                broadcastSpread.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(last - first), HIGHEST_TRACKABLE_MICROS));
+            }
+        }
+    }
+
+    private long register(String username) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"password123\"}"))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        return objectMapper.readTree(response.body()).get("id").asLong();
+    }
+
+    private Player connect(long userId) {
+        Player player = new Player(userId);
+        player.socket = httpClient.newWebSocketBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .buildAsync(URI.create(wsUrl), player)
+                .join();
+        return player;
+    }
+
+    private void report(double seconds, Path outputDir) throws IOException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        long games = gamesCompleted.sum();
+        long messages = messagesSent.sum() + messagesReceived.sum();
+
+        System.out.println();
+        System.out.printf("%-26s %12s %12s%n", "", "per second", "per core/s");
+        System.out.printf("%-26s %12.1f %12.1f%n", "games completed", games / seconds, games / seconds / cores);
+        System.out.printf("%-26s %12.1f %12.1f%n", "messages (in + out)", messages / seconds, messages / seconds / cores);
+        System.out.printf("Games failed: %d; client messages sent %d, received %d%n",
+                gamesFailed.sum(), messagesSent.sum(), messagesReceived.sum());
+
+        System.out.println();
+        System.out.printf("%-26s %9s %9s %9s %9s%n", "", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        printRow("question broadcast spread", broadcastSpread);
+        printRow("answer to result", answerToResult);
+
+        Files.createDirectories(outputDir);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(outputDir.resolve("room-broadcast-spread.hgrm")))) {
+            broadcastSpread.copy().outputPercentileDistribution(out, 1000.0);
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(outputDir.resolve("room-answer-to-result.hgrm")))) {
+            answerToResult.copy().outputPercentileDistribution(out, 1000.0);
+        }
+        System.out.println("Percentile distributions written to " + outputDir.toAbsolutePath());
+    }
+
+    private static void printRow(String name, Histogram histogram) {
+        System.out.printf("%-26s %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    /**
+     * One simulated player with its own WebSocket connection. Answers every question
+     * with a random choice as soon as it arrives.
+     */
+    private class Player implements WebSocket.Listener {
+
+        final long userId;
+        WebSocket socket;
+
+        private final StringBuilder buffer = new StringBuilder();
+
+        volatile CompletableFuture<String> joined;
+        volatile CountDownLatch finished;
+        final long[] questionReceivedAt = new long[rounds];
+        final long[] answerSentAt = new long[rounds];
+
+        Player(long userId) {
+            this.userId = userId;
+            reset();
+        }
+
+        void reset() {
+            Arrays.fill(questionReceivedAt, 0);
+            Arrays.fill(answerSentAt, 0);
+            joined = new CompletableFuture<>();
+            finished = new CountDownLatch(1);
+        }
+
+        synchronized void send(String message) {
+            socket.sendText(message, true).join();
+            if (recording) {
+                messagesSent.increment();
+            }
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            buffer.append(data);
+            if (last) {
+                String text = buffer.toString();
+                buffer.setLength(0);
+                handle(text);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        private void handle(String text) {
+            long now = System.nanoTime();
+            if (recording) {
+                messagesReceived.increment();
+            }
+            JsonNode message;
+            try {
+                message = objectMapper.readTree(text);
+            } catch (IOException e) {
+                return;
+            }
+
+            switch (message.path("type").asText()) {
+                case "joined" -> joined.complete(message.path("roomId").asText());
+                case "question" -> {
+                    int index = message.path("index").asInt();
+                    questionReceivedAt[index] = now;
+                    int choice = ThreadLocalRandom.current().nextInt(message.path("options").size());
+                    answerSentAt[index] = System.nanoTime();
+                    send("{\"type\":\"answer\",\"index\":" + index + ",\"choice\":" + choice + "}");
+                }
+                case "result" -> {
+                    int index = message.path("index").asInt();
+                    if (recording && answerSentAt[index] > 0) {
+                        answerToResult.recordValue(Math.min(
+                                TimeUnit.NANOSECONDS.toMicros(now - answerSentAt[index]), HIGHEST_TRACKABLE_MICROS));
+                    }
+                }
+                case "finished" -> finished.countDown();
+                case "error" -> joined.completeExceptionally(new IllegalStateException(message.path("message").asText()));
+                default -> {
+                }
+            }
+        }
+    }
+}
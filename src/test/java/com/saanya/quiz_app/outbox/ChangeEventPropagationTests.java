@@ -0,0 +1,194 @@
+package com.saanya.quiz_app.outbox;
+
+import com.saanya.quiz_app.QuizAppApplication;
+import com.saanya.quiz_app.dto.LeaderboardEntry;
+import com.saanya.quiz_app.dto.RegisterRequest;
+import com.saanya.quiz_app.dto.StreakRequest;
+import com.saanya.quiz_app.dto.UserResponse;
+import com.saanya.quiz_app.model.ChangeEvent;
+import com.saanya.quiz_app.repository.ChangeEventRepository;
+import com.saanya.quiz_app.service.AuthService;
+import com.saanya.quiz_app.service.StreakService;
+import com.saanya.quiz_app.service.UserSummaryCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two application instances on one shared in-memory H2 database, the way replicas share
+ * PostgreSQL in production. Writes go through {@code writer} only; {@code reader} learns
+ * about them through the change_events outbox alone, since its leaderboard is served from
+ * its own cache.
+ */
+class ChangeEventPropagationTests {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeEventPropagationTests.class);
+
+    private static final String SHARED_URL =
+            "jdbc:h2:mem:outbox-shared;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    private static final int RECORDS = 20;
+
+    private static ConfigurableApplicationContext writer;
+    private static ConfigurableApplicationContext reader;
+
+    @BeforeAll
+    static void startInstances() {
+        writer = start();
+        reader = start();
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        if (reader != null) {
+            reader.close();
+        }
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    @Test
+    void recordsSavedOnOneInstanceReachTheOthersLeaderboard() {
+        List<Long> lagsMillis = new ArrayList<>();
+        for (int i = 0; i < RECORDS; i++) {
+            UserResponse user = register();
+            int streak = 1_000 + i;
+
+            long saved = System.nanoTime();
+            saveStreak(user.getId(), streak);
+            awaitOnLeaderboard(user.getUsername(), streak);
+            lagsMillis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - saved));
+        }
+
+        Collections.sort(lagsMillis);
+        Timer lag = reader.getBean(MeterRegistry.class).find("quiz.outbox.lag").timer();
+        logger.info("Propagation lag over {} records: p50 {} ms, max {} ms (save to visible on the other instance); "
+                        + "poller-measured mean {} ms, max {} ms",
+                RECORDS, lagsMillis.get(RECORDS / 2), lagsMillis.get(RECORDS - 1),
+                Math.round(lag.mean(TimeUnit.MILLISECONDS)), Math.round(lag.max(TimeUnit.MILLISECONDS)));
+
+        assertThat(lagsMillis.get(RECORDS - 1))
+                .as("propagation lag (ms, sorted) %s", lagsMillis)
+                .isLessThan(5_000);
+    }
+
+    @Test
+    void eventCommittedLateIsAppliedAfterNewerOnes() throws Exception {
+        UserResponse late = register();
+        UserResponse early = register();
+
+        // Takes an event id first but commits last, leaving a gap the reader has to come back to
+        try (Connection held = DriverManager.getConnection(SHARED_URL, "sa", "")) {
+            held.setAutoCommit(false);
+            try (PreparedStatement update = held.prepareStatement("UPDATE users SET highest_streak = ? WHERE id = ?");
+                 PreparedStatement event = held.prepareStatement(
+                         "INSERT INTO change_events (event_type, user_id, username, highest_streak, created_at) "
+                                 + "VALUES ('USER_UPDATED', ?, ?, ?, CURRENT_TIMESTAMP)")) {
+                update.setInt(1, 5_000);
+                update.setLong(2, late.getId());
+                update.executeUpdate();
+                event.setLong(1, late.getId());
+                event.setString(2, late.getUsername());
+                event.setInt(3, 5_000);
+                event.executeUpdate();
+            }
+
+            saveStreak(early.getId(), 4_000);
+            awaitOnLeaderboard(early.getUsername(), 4_000);
+            // Registered with 0, so already listed; the uncommitted 5000 must not show yet
+            assertThat(readerLeaderboard())
+                    .filteredOn(entry -> entry.getUsername().equals(late.getUsername()))
+                    .extracting(LeaderboardEntry::getHighestStreak)
+                    .containsExactly(0);
+
+            held.commit();
+        }
+
+        awaitOnLeaderboard(late.getUsername(), 5_000);
+        assertThat(readerLeaderboard().get(0).getUsername()).isEqualTo(late.getUsername());
+    }
+
+    @Test
+    void reapplyingEventsOutOfOrderChangesNothing() {
+        UserResponse user = register();
+        saveStreak(user.getId(), 3_000);
+        awaitOnLeaderboard(user.getUsername(), 3_000);
+        List<LeaderboardEntry> before = readerLeaderboard();
+
+        List<ChangeEvent> events = reader.getBean(ChangeEventRepository.class).findAll(Sort.by("id"));
+        Collections.reverse(events);
+        UserSummaryCache cache = reader.getBean(UserSummaryCache.class);
+        cache.apply(events);
+        cache.apply(events);
+
+        assertThat(readerLeaderboard()).isEqualTo(before);
+    }
+
+    private static ConfigurableApplicationContext start() {
+        // Command-line arguments: properties() only sets defaults, which application.properties overrides
+        return new SpringApplicationBuilder(QuizAppApplication.class)
+                .profiles("h2")
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=" + SHARED_URL,
+                        "--gemini.api.key=",
+                        "--quiz.outbox.poll-interval=50ms");
+    }
+
+    private static UserResponse register() {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername("user-" + UUID.randomUUID().toString().substring(0, 8));
+        request.setPassword("password123");
+        return writer.getBean(AuthService.class).register(request);
+    }
+
+    private static void saveStreak(Long userId, int count) {
+        StreakRequest request = new StreakRequest();
+        request.setUserId(userId);
+        request.setStreakCount(count);
+        request.setCategory("Science");
+        writer.getBean(StreakService.class).saveStreak(request);
+    }
+
+    private static List<LeaderboardEntry> readerLeaderboard() {
+        return reader.getBean(StreakService.class).getLeaderboard(100);
+    }
+
+    private static void awaitOnLeaderboard(String username, int streak) {
+        await(() -> readerLeaderboard().stream()
+                .anyMatch(entry -> entry.getUsername().equals(username) && entry.getHighestStreak() == streak));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 10s").isLessThan(deadline);
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.saanya.quiz_app.room;
+
+import com.saanya.quiz_app.bank.QuestionBankImporter;
+import com.saanya.quiz_app.dto.RegisterRequest;
+import com.saanya.quiz_app.model.Question;
+import com.saanya.quiz_app.model.Streak;
+import com.saanya.quiz_app.repository.StreakRepository;
+import com.saanya.quiz_app.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class RoomRegistryTests {
+
+    @Autowired
+    private RoomRegistry registry;
+
+    @Autowired
+    private QuestionBankImporter importer;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private StreakRepository streakRepository;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void repeatsAreReplacedFromTheQuestionBank() throws Exception {
+        String category = "Rooms-" + UUID.randomUUID().toString().substring(0, 8);
+        Path file = dir.resolve("bank.csv");
+        Files.writeString(file, category + ",Bank one?,0,a,b\n" + category + ",Bank two?,1,a,b\n");
+        importer.importFile(file);
+
+        List<Question> questions = registry.withoutRepeats(room("ABCDEF", category),
+                List.of(question("Fallback?", category), question("Fallback?", category), question("Fallback?", category)));
+
+        assertThat(questions).extracting(Question::getQuestion)
+                .containsExactlyInAnyOrder("Fallback?", "Bank one?", "Bank two?");
+    }
+
+    @Test
+    void repeatsAreDroppedWhenTheBankLacksTheCategory() {
+        String category = "Empty-" + UUID.randomUUID().toString().substring(0, 8);
+
+        List<Question> questions = registry.withoutRepeats(room("ABCDEF", category),
+                List.of(question("First?", category), question("Fallback?", category), question("Fallback?", category)));
+
+        assertThat(questions).extracting(Question::getQuestion).containsExactly("First?", "Fallback?");
+    }
+
+    @Test
+    void eachGameStoresEachResultOnceEvenWhenTheRoomIdComesBack() throws Exception {
+        Long userId = register();
+        QuizRoom first = room("K7QX2M", "Science");
+        QuizRoom second = room("K7QX2M", "Science");
+
+        // The same game reported twice, then a later game in a room with the same id and the same score
+        registry.finished(first, List.of(player(userId, 4)));
+        registry.finished(first, List.of(player(userId, 4)));
+        registry.finished(second, List.of(player(userId, 4)));
+
+        List<Streak> saved = awaitStreaks(userId, 2);
+        assertThat(saved).extracting(Streak::getStreakCount).containsExactly(4, 4);
+        // Give a stray duplicate time to show up
+        Thread.sleep(200);
+        assertThat(streakRepository.findByUserIdOrderByPlayedAtDesc(userId)).hasSize(2);
+    }
+
+    private QuizRoom room(String id, String category) {
+        return new QuizRoom(id, category, 3, new RoomShard(0), registry);
+    }
+
+    private static RoomPlayer player(Long userId, int streak) {
+        RoomPlayer player = new RoomPlayer(null, userId, "player");
+        player.streak = streak;
+        return player;
+    }
+
+    private static Question question(String text, String category) {
+        return new Question(text, List.of("a", "b"), 0, category);
+    }
+
+    private List<Streak> awaitStreaks(Long userId, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        List<Streak> streaks = streakRepository.findByUserIdOrderByPlayedAtDesc(userId);
+        while (streaks.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            streaks = streakRepository.findByUserIdOrderByPlayedAtDesc(userId);
+        }
+        return streaks;
+    }
+
+    private Long register() {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername("user-" + UUID.randomUUID().toString().substring(0, 8));
+        request.setPassword("password123");
+        return authService.register(request).getId();
+    }
+}
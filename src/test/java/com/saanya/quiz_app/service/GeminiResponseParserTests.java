@@ -0,0 +1,127 @@
+package com.saanya.quiz_app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saanya.quiz_app.config.CorsConfig;
+import com.saanya.quiz_app.model.Question;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeminiResponseParserTests {
+
+    private final ObjectMapper objectMapper = new CorsConfig().objectMapper();
+    private final GeminiResponseParser parser = new GeminiResponseParser(objectMapper);
+
+    @Test
+    void parsesAPlainJsonAnswer() throws IOException {
+        Question question = parser.parse(recorded("valid"), "Science");
+
+        assertThat(question.getQuestion()).isEqualTo("Which planet has the shortest day in our solar system?");
+        assertThat(question.getOptions()).containsExactly("Earth", "Jupiter", "Mars", "Venus");
+        assertThat(question.getCorrectIndex()).isEqualTo(1);
+        assertThat(question.getCategory()).isEqualTo("Science");
+    }
+
+    @Test
+    void parsesAnAnswerInACodeFenceWithProseAndExtraFields() throws IOException {
+        Question question = parser.parse(recorded("fenced"), "Art");
+
+        assertThat(question.getQuestion()).isEqualTo("Who painted the ceiling of the Sistine Chapel?");
+        assertThat(question.getOptions()).hasSize(4);
+        assertThat(question.getCorrectIndex()).isEqualTo(1);
+        assertThat(question.getCategory()).isEqualTo("Art");
+    }
+
+    @Test
+    void safetyBlockedResponseIsReportedAsFiltered() throws IOException {
+        String response = recorded("safety");
+
+        assertThatThrownBy(() -> parser.parse(response, "Science"))
+                .isInstanceOf(GeminiResponseParser.ContentFilteredException.class)
+                .hasMessageContaining("SAFETY");
+    }
+
+    @Test
+    void truncatedAnswerIsRejected() throws IOException {
+        String response = recorded("truncated");
+
+        assertThatThrownBy(() -> parser.parse(response, "Science"))
+                .isNotInstanceOf(GeminiResponseParser.ContentFilteredException.class)
+                .hasMessageContaining("Could not find JSON object");
+    }
+
+    @Test
+    void usesOnlyTheFirstCandidateAndPart() throws IOException {
+        String response = """
+                {"usageMetadata": {"totalTokenCount": 5}, "candidates": [
+                  {"content": {"role": "model", "parts": [
+                    {"text": "{\\"question\\": \\"First?\\", \\"options\\": [\\"a\\", \\"b\\"], \\"correctIndex\\": 0}"},
+                    {"text": "ignored"}]}},
+                  {"content": {"parts": [{"text": "{\\"question\\": \\"Second?\\"}"}]}}]}
+                """;
+
+        assertThat(parser.parse(response, "Science").getQuestion()).isEqualTo("First?");
+    }
+
+    @Test
+    void outOfRangeCorrectIndexDefaultsToZero() throws IOException {
+        Question question = parser.parse(envelope("{\"question\": \"Q?\", \"options\": [\"a\", \"b\"], \"correctIndex\": 5}"),
+                "Science");
+
+        assertThat(question.getCorrectIndex()).isZero();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', textBlock = """
+            {"candidates": []}                                         | no candidates
+            {"candidates": [{"finishReason": "STOP"}]}                 | missing 'content'
+            {"candidates": [{"content": {"role": "model"}}]}           | missing 'parts'
+            {"candidates": [{"content": {"parts": []}}]}               | empty 'parts'
+            {"candidates": [{"content": {"parts": [{"thought": true}]}}]} | missing 'text'
+            {"candidates": [{"content": {"parts": [{"text": "  "}]}}]} | Empty text content
+            []                                                         | not a JSON object
+            """)
+    void rejectsIncompleteEnvelopes(String response, String reason) {
+        assertThatThrownBy(() -> parser.parse(response, "Science")).hasMessageContaining(reason);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', textBlock = """
+            {"options": ["a", "b"], "correctIndex": 0}                       | missing 'question'
+            {"question": "Q?", "correctIndex": 0}                            | missing 'options'
+            {"question": "Q?", "options": ["a", "b"]}                        | missing 'correctIndex'
+            {"question": "Q?", "options": ["a"], "correctIndex": 0}          | Need at least 2 options
+            """)
+    void rejectsQuestionsWithMissingFields(String question, String reason) {
+        assertThatThrownBy(() -> parser.parse(envelope(question), "Science")).hasMessageContaining(reason);
+    }
+
+    // The tree-model parser accepted these as the text "null" and index 0; null now counts as missing
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', textBlock = """
+            {"question": null, "options": ["a", "b"], "correctIndex": 0}     | missing 'question'
+            {"question": "Q?", "options": null, "correctIndex": 0}           | missing 'options'
+            {"question": "Q?", "options": ["a", "b"], "correctIndex": null}  | missing 'correctIndex'
+            {"question": "Q?", "options": ["a", null], "correctIndex": 0}    | null option
+            """)
+    void rejectsNullFields(String question, String reason) {
+        assertThatThrownBy(() -> parser.parse(envelope(question), "Science")).hasMessageContaining(reason);
+    }
+
+    // The payloads GeminiResponseParserBenchmark runs on
+    private static String recorded(String name) throws IOException {
+        return Files.readString(Path.of("src/jmh/resources/gemini", name + ".json"));
+    }
+
+    private String envelope(String text) throws IOException {
+        return "{\"candidates\": [{\"content\": {\"parts\": [{\"text\": "
+                + objectMapper.writeValueAsString(text) + "}]}, \"finishReason\": \"STOP\"}]}";
+    }
+}
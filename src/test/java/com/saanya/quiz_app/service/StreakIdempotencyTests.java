@@ -0,0 +1,168 @@
+package com.saanya.quiz_app.service;
+
+import com.saanya.quiz_app.dto.RegisterRequest;
+import com.saanya.quiz_app.dto.StreakRequest;
+import com.saanya.quiz_app.dto.StreakResponse;
+import com.saanya.quiz_app.repository.StreakRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class StreakIdempotencyTests {
+
+    private static final int DUPLICATES = 16;
+
+    @Autowired
+    private IdempotentStreakService idempotentStreakService;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private StreakService streakService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private StreakRepository streakRepository;
+
+    @Test
+    void concurrentDuplicatesInsertExactlyOnce() throws Exception {
+        Long userId = register();
+        StreakRequest request = streak(userId, 12);
+        String key = UUID.randomUUID().toString();
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(DUPLICATES);
+        try {
+            List<Future<StreakResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < DUPLICATES; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return idempotentStreakService.save(request, key);
+                }));
+            }
+            start.countDown();
+
+            StreakResponse first = futures.get(0).get();
+            for (Future<StreakResponse> future : futures) {
+                assertThat(future.get()).isEqualTo(first);
+            }
+            assertThat(first.getCurrentStreak()).isEqualTo(12);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(streakRepository.findByUserIdOrderByPlayedAtDesc(userId)).hasSize(1);
+    }
+
+    @Test
+    void concurrentSavesOnSeparatePathsInsertExactlyOnce() throws Exception {
+        Long userId = register();
+        StreakRequest request = streak(userId, 9);
+        String scopedKey = userId + ":" + UUID.randomUUID();
+        String hash = IdempotentStreakService.requestHash(request);
+
+        // Past the in-memory store, as when retries land on different instances
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(DUPLICATES);
+        try {
+            List<Future<StreakResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < DUPLICATES; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return idempotentStreakService.saveOnce(request, scopedKey, hash);
+                }));
+            }
+            start.countDown();
+
+            StreakResponse first = futures.get(0).get();
+            for (Future<StreakResponse> future : futures) {
+                assertThat(future.get()).isEqualTo(first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // A second insert of a stored key fails and takes its streak with it
+        assertThatThrownBy(() -> streakService.saveStreak(request, scopedKey, hash))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(streakRepository.findByUserIdOrderByPlayedAtDesc(userId)).hasSize(1);
+    }
+
+    @Test
+    void replayAfterMemoryEvictionReturnsStoredResponse() {
+        Long userId = register();
+        String key = UUID.randomUUID().toString();
+
+        StreakResponse original = idempotentStreakService.save(streak(userId, 7), key);
+        // Simulates a restart, or a retry that lands on another instance
+        idempotencyStore.clear();
+        StreakResponse replayed = idempotentStreakService.save(streak(userId, 7), key);
+
+        assertThat(replayed).isEqualTo(original);
+        assertThat(streakRepository.findByUserIdOrderByPlayedAtDesc(userId)).hasSize(1);
+    }
+
+    @Test
+    void batchItemsAreDeduplicatedByBodyKey() {
+        Long userId = register();
+        StreakRequest first = streak(userId, 3);
+        first.setIdempotencyKey("game-1");
+        StreakRequest retried = streak(userId, 3);
+        retried.setIdempotencyKey("game-1");
+        StreakRequest second = streak(userId, 5);
+        second.setIdempotencyKey("game-2");
+
+        List<StreakResponse> responses = idempotentStreakService.saveBatch(List.of(first, retried, second));
+
+        assertThat(responses.get(1)).isEqualTo(responses.get(0));
+        assertThat(streakRepository.findByUserIdOrderByPlayedAtDesc(userId)).hasSize(2);
+    }
+
+    @Test
+    void keyReusedWithDifferentBodyIsRejected() {
+        Long userId = register();
+        String key = UUID.randomUUID().toString();
+        idempotentStreakService.save(streak(userId, 7), key);
+
+        assertThatThrownBy(() -> idempotentStreakService.save(streak(userId, 8), key))
+                .isInstanceOf(IdempotencyStore.KeyReusedException.class);
+        // The stored hash catches it too, once the key is no longer in memory
+        idempotencyStore.clear();
+        assertThatThrownBy(() -> idempotentStreakService.save(streak(userId, 8), key))
+                .isInstanceOf(IdempotencyStore.KeyReusedException.class);
+        assertThat(streakRepository.findByUserIdOrderByPlayedAtDesc(userId)).hasSize(1);
+    }
+
+    private Long register() {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername("user-" + UUID.randomUUID().toString().substring(0, 8));
+        request.setPassword("password123");
+        return authService.register(request).getId();
+    }
+
+    private static StreakRequest streak(Long userId, int count) {
+        StreakRequest request = new StreakRequest();
+        request.setUserId(userId);
+        request.setStreakCount(count);
+        request.setCategory("Science");
+        return request;
+    }
+}
@@ -0,0 +1,83 @@
+#!/bin/bash
+
+# Startup benchmark: time-to-first-request and resident memory for
+#   1. plain JVM
+#   2. JVM with AOT-processed context and a class-data-sharing (CDS) archive
+#   3. GraalVM native image (skipped unless target/quiz-app exists: ./mvnw -Pnative native:compile)
+# Runs against the in-memory h2 profile so no PostgreSQL is needed. MVN=mvn uses a local Maven
+# instead of the wrapper.
+
+PORT=${PORT:-8089}
+PROFILES=${PROFILES:-h2,prod}
+APP_ARGS="--server.port=$PORT --spring.profiles.active=$PROFILES"
+HEALTH_URL="http://localhost:$PORT/actuator/health"
+WORK_DIR=target/startup
+
+set -e
+
+echo "▶ Building AOT-processed jar..."
+${MVN:-./mvnw} -q -Paot -DskipTests package
+
+mkdir -p "$WORK_DIR"
+JAR=$(ls target/quiz-app-*.jar | grep -v plain | head -1)
+
+# Boot 3.3+: extract the jar into a layout that CDS can map, then record an archive during a training run
+rm -rf "$WORK_DIR/app"
+java -Djarmode=tools -jar "$JAR" extract --destination "$WORK_DIR/app" > /dev/null
+EXTRACTED_JAR=$(ls "$WORK_DIR"/app/*.jar | head -1)
+
+echo "▶ Training run to create the CDS archive..."
+java -XX:ArchiveClassesAtExit="$WORK_DIR/app.jsa" -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+  -jar "$EXTRACTED_JAR" $APP_ARGS > "$WORK_DIR/training.log" 2>&1
+
+set +e
+
+# measure <name> <command...>: starts the app, polls the health endpoint, reports and stops it
+measure() {
+  local name=$1
+  shift
+  local start
+  start=$(date +%s%N)
+  "$@" $APP_ARGS > "$WORK_DIR/$name.log" 2>&1 &
+  local pid=$!
+
+  until curl -sf "$HEALTH_URL" > /dev/null; do
+    if ! kill -0 $pid 2> /dev/null; then
+      echo "$name: failed to start, see $WORK_DIR/$name.log"
+      return
+    fi
+    sleep 0.02
+  done
+  local ready
+  ready=$(date +%s%N)
+
+  # First real request, so lazily initialised paths are included
+  curl -sf "http://localhost:$PORT/api/streaks/leaderboard" > /dev/null
+  local first
+  first=$(date +%s%N)
+
+  sleep 1
+  # Health answers before ApplicationReadyEvent listeners run, and a failing one stops the app
+  if ! kill -0 $pid 2> /dev/null; then
+    echo "$name: exited after starting, see $WORK_DIR/$name.log"
+    return
+  fi
+  local rss_kb
+  rss_kb=$(ps -o rss= -p $pid | tr -d ' ')
+
+  kill $pid
+  wait $pid 2> /dev/null
+
+  printf "%-10s ready %6d ms   first request %6d ms   RSS %6d MB\n" \
+    "$name" $(( (ready - start) / 1000000 )) $(( (first - start) / 1000000 )) $(( rss_kb / 1024 ))
+}
+
+echo ""
+measure jvm java -jar "$EXTRACTED_JAR"
+measure jvm-cds java -XX:SharedArchiveFile="$WORK_DIR/app.jsa" -Dspring.aot.enabled=true -jar "$EXTRACTED_JAR"
+
+if [ -x target/quiz-app ]; then
+  measure native target/quiz-app
+else
+  echo "native     skipped (build with ./mvnw -Pnative native:compile)"
+fi